@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Compares throughput of GET /api/tasks at 1000 concurrent clients on platform threads
+# and on virtual threads, against the PostgreSQL from docker-compose.yml.
+#
+#   scripts/load-test.sh
+#
+# Results: target/load-platform.json and target/load-virtual-threads.json
+#
+# Each run seeds LOAD_USERS users with tasks through a load-admin account that is promoted
+# to ROLE_ADMIN with psql; set PSQL to use a database outside docker-compose.yml.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+PSQL=${PSQL:-docker compose exec -T postgres psql -U task_user -d task_db}
+export LOAD_BASE_URL="http://localhost:${PORT}"
+export LOAD_ADMIN_USERNAME=load-admin
+export LOAD_ADMIN_EMAIL=load-admin@example.com
+export LOAD_ADMIN_PASSWORD=load-admin-password
+
+docker compose up -d postgres
+./mvnw -B -q -DskipTests package
+./mvnw -B -q -Pbenchmark test-compile
+
+ensure_admin() {
+  # 400 on the second run, the account is already there
+  curl -s -o /dev/null -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${LOAD_ADMIN_USERNAME}\",\"email\":\"${LOAD_ADMIN_EMAIL}\",\"password\":\"${LOAD_ADMIN_PASSWORD}\"}" \
+    "${LOAD_BASE_URL}/api/auth/registration"
+  ${PSQL} -q -c "UPDATE users SET role = 'ROLE_ADMIN' WHERE email = '${LOAD_ADMIN_EMAIL}'"
+}
+
+run() {
+  local mode=$1 profile=$2
+  java -jar target/TaskManagementSystem-0.0.1-SNAPSHOT.jar \
+    --server.port="${PORT}" --spring.profiles.active="${profile}" > "target/load-${mode}.log" 2>&1 &
+  local app=$!
+  trap 'kill ${app} 2>/dev/null || true' EXIT
+  until curl -s -o /dev/null "${LOAD_BASE_URL}/v3/api-docs"; do sleep 1; done
+  ensure_admin
+
+  ./mvnw -B -q -Pbenchmark exec:exec -Djmh.include=HttpLoadScenario
+  mv target/jmh-result.json "target/load-${mode}.json"
+
+  kill "${app}"
+  wait "${app}" 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform default
+run virtual-threads virtual-threads
+
+# scores in the result file: all answered requests, then the rejected and served counters,
+# whose ratio is the share of 503s from admission control
+for mode in platform virtual-threads; do
+  grep -o '"score" : [0-9.Ee-]*' "target/load-${mode}.json" | grep -o '[0-9.Ee-]*$' | paste -sd' ' |
+    awk -v mode="${mode}" '{ printf "%-16s %8.1f ops/s, %5.1f%% rejected with 503\n", mode, $1, 100 * $2 / ($2 + $3) }'
+done
@@ -0,0 +1,113 @@
+package com.example.TaskManagementSystem.benchmarks;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.mappers.CommentMapperImpl;
+import com.example.TaskManagementSystem.mappers.TaskMapper;
+import com.example.TaskManagementSystem.mappers.TaskMapperImpl;
+import com.example.TaskManagementSystem.models.Comment;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.services.UserService;
+import com.example.TaskManagementSystem.util.UserFinder;
+import jakarta.persistence.EntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * In-memory users, tasks and mappers shared by the benchmarks; nothing here touches a database.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Map<String, User> users(int count) {
+        Map<String, User> users = new HashMap<>();
+        for (long i = 0; i <= count; i++) {
+            User user = new User(i, "user" + i, "user" + i + "@example.com", "hash", Role.ROLE_USER);
+            users.put(user.getUsername(), user);
+        }
+        return users;
+    }
+
+    static UserFinder userFinder(Map<String, User> users) {
+        Map<Long, User> byId = new HashMap<>();
+        users.values().forEach(user -> byId.put(user.getId(), user));
+        // getReference is the only call the mappers make, answer it from memory
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getReference")) {
+                        return byId.get((Long) args[1]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return new UserFinder(new UserService(null) {
+            @Override
+            public Optional<User> findByUsername(String username) {
+                return Optional.ofNullable(users.get(username));
+            }
+
+            @Override
+            public List<User> findAllByUsername(Collection<String> usernames) {
+                return usernames.stream().map(users::get).filter(Objects::nonNull).toList();
+            }
+
+            @Override
+            public Map<String, Long> findIdsByUsername(Collection<String> usernames) {
+                Map<String, Long> ids = new HashMap<>();
+                usernames.stream().map(users::get).filter(Objects::nonNull)
+                        .forEach(user -> ids.put(user.getUsername(), user.getId()));
+                return ids;
+            }
+        }, entityManager, 10_000, Duration.ofHours(1));
+    }
+
+    static TaskMapper taskMapper(UserFinder userFinder) {
+        CommentMapperImpl commentMapper = new CommentMapperImpl();
+        ReflectionTestUtils.setField(commentMapper, "userFinder", userFinder);
+        TaskMapperImpl taskMapper = new TaskMapperImpl(commentMapper);
+        ReflectionTestUtils.setField(taskMapper, "userFinder", userFinder);
+        return taskMapper;
+    }
+
+    static Task task(long id, Map<String, User> users, int relations) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDescription("Description of task " + id);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setAuthor(users.get("user0"));
+        List<Comment> comments = new ArrayList<>(relations);
+        for (int i = 1; i <= relations; i++) {
+            User user = users.get("user" + i);
+            task.getAssignees().add(user);
+            comments.add(new Comment((long) i, "Comment number " + i, task, user));
+        }
+        task.setComments(comments);
+        return task;
+    }
+
+    static TaskDTO taskDTO(long id, int relations) {
+        List<String> assignees = new ArrayList<>(relations);
+        List<CommentDTO> comments = new ArrayList<>(relations);
+        for (int i = 1; i <= relations; i++) {
+            assignees.add("user" + i);
+            comments.add(new CommentDTO("Comment number " + i, "user" + i));
+        }
+        return new TaskDTO("Task " + id, "Description of task " + id, "IN_PROGRESS", "HIGH", "user0", assignees, comments, null);
+    }
+}
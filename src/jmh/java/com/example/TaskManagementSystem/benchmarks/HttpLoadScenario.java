@@ -0,0 +1,144 @@
+package com.example.TaskManagementSystem.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 1000 concurrent clients reading their task list from a running application, see
+ * {@code scripts/load-test.sh}. Unlike the benchmarks this one needs the app and
+ * PostgreSQL up; the target is taken from the {@code LOAD_BASE_URL} environment variable
+ * because JMH forks do not inherit Maven's system properties. The class name keeps it out
+ * of the default {@code jmh.include} pattern.
+ * <p>
+ * Before the measurement every load user gets a full first page of tasks: some authored,
+ * some assigned, some both, so the listing runs the same union as in production instead of
+ * answering an empty page. Tasks are created through the admin API with the credentials in
+ * {@code LOAD_ADMIN_EMAIL} and {@code LOAD_ADMIN_PASSWORD}; the clients are spread over
+ * {@code LOAD_USERS} users.
+ * <p>
+ * The score counts every answered request; the {@code served} and {@code rejected} secondary
+ * results split it into 200s and 503s from admission control, any other status fails the run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1000)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class HttpLoadScenario {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    private HttpClient client;
+    private URI baseUrl;
+    private List<HttpRequest> listTasksByUser;
+
+    @Setup
+    public void setUp() throws Exception {
+        baseUrl = URI.create(System.getenv().getOrDefault("LOAD_BASE_URL", "http://localhost:8080"));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String adminToken = token(post("/api/auth/login", null, Map.of(
+                "email", requiredEnv("LOAD_ADMIN_EMAIL"), "password", requiredEnv("LOAD_ADMIN_PASSWORD"))));
+        String adminName = requiredEnv("LOAD_ADMIN_USERNAME");
+        int users = Integer.parseInt(System.getenv().getOrDefault("LOAD_USERS", "100"));
+
+        listTasksByUser = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String name = "load-" + UUID.randomUUID().toString().substring(0, 8);
+            String userToken = token(post("/api/auth/registration", null, Map.of(
+                    "username", name, "email", name + "@example.com", "password", "password")));
+            seedTasks(adminToken, adminName, name);
+            listTasksByUser.add(HttpRequest.newBuilder(baseUrl.resolve("/api/tasks?size=" + PAGE_SIZE))
+                    .header("Authorization", "Bearer " + userToken)
+                    .GET()
+                    .build());
+        }
+    }
+
+    /** A page and a half per user: a third authored, a third assigned, a third both. */
+    private void seedTasks(String adminToken, String adminName, String username) throws Exception {
+        int tasks = PAGE_SIZE * 3 / 2;
+        for (int i = 0; i < tasks; i++) {
+            boolean authored = i % 3 != 1;
+            boolean assigned = i % 3 != 0;
+            post("/api/tasks/admin", adminToken, Map.of(
+                    "title", "Load task " + i,
+                    "description", "Seeded for " + username,
+                    "status", STATUSES[i % STATUSES.length],
+                    "priority", "MEDIUM",
+                    "author", authored ? username : adminName,
+                    "assignees", assigned ? List.of(username) : List.of()));
+        }
+    }
+
+    private String post(String path, String token, Map<String, ?> body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(path + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private String token(String responseBody) throws IOException {
+        return objectMapper.readTree(responseBody).get("jwt-token").asText();
+    }
+
+    private static String requiredEnv(String name) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(name + " is not set, run scripts/load-test.sh");
+        }
+        return value;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Client {
+
+        public long served;
+        public long rejected;
+
+        private HttpRequest listTasks;
+
+        @Setup
+        public void setUp(HttpLoadScenario scenario) {
+            List<HttpRequest> requests = scenario.listTasksByUser;
+            listTasks = requests.get(scenario.nextUser.getAndIncrement() % requests.size());
+        }
+    }
+
+    @Benchmark
+    public int listTasks(Client clientState) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(clientState.listTasks, HttpResponse.BodyHandlers.discarding());
+        switch (response.statusCode()) {
+            case 200 -> clientState.served++;
+            case 503 -> clientState.rejected++;
+            default -> throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
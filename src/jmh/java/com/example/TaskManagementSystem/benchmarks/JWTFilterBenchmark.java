@@ -0,0 +1,77 @@
+package com.example.TaskManagementSystem.benchmarks;
+
+import com.example.TaskManagementSystem.config.JWTFilter;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.security.JwtProperties;
+import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PersonDetails;
+import com.example.TaskManagementSystem.security.PrincipalCache;
+import com.example.TaskManagementSystem.security.VerifiedToken;
+import com.example.TaskManagementSystem.security.VerifiedTokenCache;
+import com.example.TaskManagementSystem.services.DefaultUserDetailsService;
+import com.example.TaskManagementSystem.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JWTFilter} with a no-op filter chain.
+ * The user lookup and the token version check are in memory, so the numbers show the filter's own cost with and
+ * without the verified-token cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean tokenCache;
+
+    private JWTFilter jwtFilter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.users(0).get("user0");
+        JwtUtil jwtUtil = new JwtUtil(new JwtProperties("benchmark-secret", "default", Map.of(), Duration.ofMinutes(15), Duration.ofDays(30)));
+        DefaultUserDetailsService userDetailsService = new DefaultUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return new PersonDetails(user);
+            }
+        };
+        PrincipalCache principalCache = new PrincipalCache(10_000, Duration.ofMinutes(5));
+        TokenService tokenService = new TokenService(jwtUtil, principalCache, null) {
+            @Override
+            public long checkNotRevoked(VerifiedToken verified) {
+                return user.getTokenVersion();
+            }
+        };
+        jwtFilter = new JWTFilter(new VerifiedTokenCache(jwtUtil, tokenCache, 10_000), userDetailsService,
+                principalCache, tokenService, new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtil.generateAccessToken(user.getEmail(), 0);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
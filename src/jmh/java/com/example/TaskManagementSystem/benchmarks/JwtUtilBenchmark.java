@@ -0,0 +1,70 @@
+package com.example.TaskManagementSystem.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.TaskManagementSystem.security.JwtProperties;
+import com.example.TaskManagementSystem.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation throughput. The {@code legacy*} benchmarks reproduce the
+ * previous implementation, which built a new {@link Algorithm} and verifier on every call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+    private static final String EMAIL = "user@example.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new JwtProperties(SECRET, "default", Map.of("retired", "retired-secret"), Duration.ofMinutes(15), Duration.ofDays(30)));
+        token = jwtUtil.generateAccessToken(EMAIL, 0);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateAccessToken(EMAIL, 0);
+    }
+
+    @Benchmark
+    public String validate() {
+        return jwtUtil.validateTokenAndRetrieveClaim(token);
+    }
+
+    @Benchmark
+    public String legacyGenerate() {
+        return JWT.create()
+                .withSubject("User details")
+                .withClaim("email", EMAIL)
+                .withIssuedAt(new Date())
+                .withIssuer("timofeev")
+                .withExpiresAt(Date.from(ZonedDateTime.now().plusMinutes(60).toInstant()))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Benchmark
+    public String legacyValidate() {
+        return JWT.require(Algorithm.HMAC256(SECRET))
+                .withSubject("User details")
+                .withIssuer("timofeev")
+                .build()
+                .verify(token)
+                .getClaim("email")
+                .asString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.TaskManagementSystem.benchmarks;
+
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.mappers.TaskMapper;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost of a single task with a growing number of assignees and comments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int relations;
+
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        Map<String, User> users = Fixtures.users(relations);
+        taskMapper = Fixtures.taskMapper(Fixtures.userFinder(users));
+        task = Fixtures.task(1L, users, relations);
+        taskDTO = Fixtures.taskDTO(1L, relations);
+    }
+
+    @Benchmark
+    public TaskDTO toDTO() {
+        return taskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return taskMapper.toEntity(taskDTO);
+    }
+}
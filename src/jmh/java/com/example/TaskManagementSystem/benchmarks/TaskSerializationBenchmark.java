@@ -0,0 +1,44 @@
+package com.example.TaskManagementSystem.benchmarks;
+
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a 100-task response body, as written by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    private static final int TASKS = 100;
+
+    @Param({"0", "10", "100"})
+    private int relations;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        tasks = new ArrayList<>(TASKS);
+        for (long id = 1; id <= TASKS; id++) {
+            tasks.add(Fixtures.taskDTO(id, relations));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+}
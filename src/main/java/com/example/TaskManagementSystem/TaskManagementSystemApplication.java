@@ -2,9 +2,11 @@ package com.example.TaskManagementSystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class TaskManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,13 @@
+package com.example.TaskManagementSystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on Boot's {@code applicationTaskExecutor}, which switches to
+ * virtual threads together with Tomcat when {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
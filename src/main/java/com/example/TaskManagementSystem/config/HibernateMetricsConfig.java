@@ -0,0 +1,35 @@
+package com.example.TaskManagementSystem.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Session factory wide Hibernate metrics (queries, entity loads, second-level cache hits) are
+ * bound by Spring Boot from Hibernate statistics, which are only collected while the Prometheus
+ * endpoint is available. What they cannot tell is how many statements a single request issues,
+ * so every statement also goes through a {@link StatementCounter} that
+ * {@link StatementCountFilter} reads per request.
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = PrometheusScrapeEndpoint.class)
+    public HibernatePropertiesCustomizer statisticsCustomizer() {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+}
@@ -1,30 +1,68 @@
 package com.example.TaskManagementSystem.config;
 
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.exceptions.InvalidClaimException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.example.TaskManagementSystem.security.PrincipalCache;
+import com.example.TaskManagementSystem.security.TokenRevokedException;
+import com.example.TaskManagementSystem.security.VerifiedToken;
+import com.example.TaskManagementSystem.security.VerifiedTokenCache;
 import com.example.TaskManagementSystem.services.DefaultUserDetailsService;
+import com.example.TaskManagementSystem.services.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates bearer tokens. Records {@code jwt.verification} and {@code jwt.principal.load}
+ * timers, both including cache hits, and {@code jwt.revocation.check}, which always reads the
+ * database; counts rejected tokens in {@code jwt.failures} by reason. Answers 503 with
+ * {@code Retry-After} when the user cannot be looked up, instead of treating the token as invalid.
+ */
 @Component
 public class JWTFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
     private final DefaultUserDetailsService userDetailsService;
-
-    public JWTFilter(JwtUtil jwtUtil, DefaultUserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenService tokenService;
+    private final MeterRegistry meterRegistry;
+    private final Timer verificationTimer;
+    private final Timer revocationCheckTimer;
+    private final Timer principalLoadTimer;
+
+    public JWTFilter(VerifiedTokenCache tokenCache, DefaultUserDetailsService userDetailsService,
+                     PrincipalCache principalCache, TokenService tokenService, MeterRegistry meterRegistry) {
+        this.tokenCache = tokenCache;
         this.userDetailsService = userDetailsService;
-
+        this.principalCache = principalCache;
+        this.tokenService = tokenService;
+        this.meterRegistry = meterRegistry;
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Bearer token verification, including verified-token cache hits")
+                .register(meterRegistry);
+        this.revocationCheckTimer = Timer.builder("jwt.revocation.check")
+                .description("Comparing the token version with the user's current one in the database")
+                .register(meterRegistry);
+        this.principalLoadTimer = Timer.builder("jwt.principal.load")
+                .description("Loading the user of a verified token, including principal cache hits")
+                .register(meterRegistry);
     }
 
     @Override
@@ -41,12 +79,16 @@ public class JWTFilter extends OncePerRequestFilter {
 
         try {
             if (jwt.isBlank()) {
+                countFailure("empty");
                 response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Empty JWT token");
                 return;
             }
 
-            String username = jwtUtil.validateTokenAndRetrieveClaim(jwt);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            VerifiedToken verified = verificationTimer.record(() -> tokenCache.verify(jwt));
+            // the cached principal may predate a revocation made on another instance
+            revocationCheckTimer.record(() -> tokenService.checkNotRevoked(verified));
+            UserDetails userDetails = principalLoadTimer.record(
+                    () -> principalCache.get(verified.email(), userDetailsService::loadUserByUsername));
 
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
@@ -58,10 +100,42 @@ public class JWTFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(authToken);
 
         } catch (JWTVerificationException exc) {
+            countFailure(failureReason(exc));
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT token");
             return;
+        } catch (DataAccessException | CannotCreateTransactionException exc) {
+            // the token may be fine, the user could not be looked up (e.g. the connection pool is exhausted)
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy, try again later");
+            return;
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private void countFailure(String reason) {
+        meterRegistry.counter("jwt.failures", "reason", reason).increment();
+    }
+
+    private static String failureReason(JWTVerificationException exc) {
+        if (exc instanceof TokenRevokedException) {
+            return "revoked";
+        }
+        if (exc instanceof TokenExpiredException) {
+            return "expired";
+        }
+        if (exc instanceof SignatureVerificationException) {
+            return "signature";
+        }
+        if (exc instanceof AlgorithmMismatchException) {
+            return "algorithm";
+        }
+        if (exc instanceof JWTDecodeException) {
+            return "malformed";
+        }
+        if (exc instanceof InvalidClaimException) {
+            return "claim";
+        }
+        return "other";
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.TaskManagementSystem.config;
+
+import com.example.TaskManagementSystem.events.FileTaskEventSink;
+import com.example.TaskManagementSystem.events.InMemoryTaskEventSink;
+import com.example.TaskManagementSystem.events.TaskEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Task changes are written to the outbox table by {@code TaskOutbox} and relayed to the
+ * {@link TaskEventSink} chosen by {@code outbox.sink}. A message broker is plugged in by
+ * adding a {@link TaskEventSink} implementation and a case here.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public TaskEventSink taskEventSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.sink()) {
+            case MEMORY -> new InMemoryTaskEventSink();
+            case FILE -> new FileTaskEventSink(properties.file(), objectMapper);
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableScheduling
+    @ConditionalOnProperty(name = "outbox.relay.enabled", matchIfMissing = true)
+    static class RelaySchedulingConfig {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.TaskManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Task change stream, see {@link OutboxConfig}.
+ *
+ * @param sink      where the relay publishes task events
+ * @param file      NDJSON file the {@link Sink#FILE} sink appends to
+ * @param batchSize events published per transaction
+ */
+@ConfigurationProperties("outbox")
+public record OutboxProperties(
+        @DefaultValue("file") Sink sink,
+        @DefaultValue("task-events.ndjson") Path file,
+        @DefaultValue("500") int batchSize
+) {
+    public enum Sink {
+        MEMORY, FILE
+    }
+}
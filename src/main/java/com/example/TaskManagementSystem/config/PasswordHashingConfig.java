@@ -0,0 +1,30 @@
+package com.example.TaskManagementSystem.config;
+
+import com.example.TaskManagementSystem.security.BoundedPasswordEncoder;
+import com.example.TaskManagementSystem.security.PasswordHashingProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt is CPU bound, so it gets a fixed pool sized to the processors rather than the request
+ * threads, with or without virtual threads. The pool is not a bean: a {@code TaskExecutor} bean
+ * would make Boot back off from {@code applicationTaskExecutor}, and MVC async requests and
+ * {@code @Async} methods would end up on another executor.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.threads());
+        executor.setMaxPoolSize(properties.threads());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(properties.strength()), executor);
+    }
+}
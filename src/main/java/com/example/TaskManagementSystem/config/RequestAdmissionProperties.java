@@ -0,0 +1,17 @@
+package com.example.TaskManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bounds the number of requests in flight when requests run on virtual threads, see
+ * {@link RequestAdmissionFilter}. The default matches Hikari's default pool size; keep the two equal.
+ */
+@ConfigurationProperties("server.admission")
+public record RequestAdmissionProperties(
+        @DefaultValue("10") int maxConcurrentRequests,
+        @DefaultValue("1s") Duration acquireTimeout
+) {
+}
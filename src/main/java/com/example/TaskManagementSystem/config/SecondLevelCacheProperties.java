@@ -0,0 +1,23 @@
+package com.example.TaskManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Limits of the Hibernate second-level cache regions, keyed by region name.
+ */
+@ConfigurationProperties("cache.second-level")
+public record SecondLevelCacheProperties(
+        @DefaultValue("1h") Duration expireAfterWrite,
+        Map<String, Long> maximumSize
+) {
+
+    static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    public long maximumSize(String region) {
+        return maximumSize == null ? DEFAULT_MAXIMUM_SIZE : maximumSize.getOrDefault(region, DEFAULT_MAXIMUM_SIZE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.TaskManagementSystem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start()} and {@link #stop()}. Statements sent through {@code JdbcTemplate}
+ * bypass Hibernate and are not counted.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new long[1]);
+    }
+
+    public long stop() {
+        long[] current = count.get();
+        count.remove();
+        return current == null ? 0 : current[0];
+    }
+}
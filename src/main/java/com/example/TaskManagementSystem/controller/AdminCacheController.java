@@ -0,0 +1,61 @@
+package com.example.TaskManagementSystem.controller;
+
+import com.example.TaskManagementSystem.dto.CacheRegionStatsDTO;
+import com.example.TaskManagementSystem.services.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "AdminCacheController", description = "Cache diagnostics for admin")
+public class AdminCacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public AdminCacheController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @Operation(
+            summary = "Get second-level cache statistics",
+            description = "Hit, miss and put counts of every Hibernate second-level cache region since startup (admin only); "
+                    + "zero unless the Prometheus endpoint is available, which turns Hibernate statistics on",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Statistics retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = CacheRegionStatsDTO.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getSecondLevelCacheStats());
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.TaskManagementSystem.controller;
 
 import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
 import com.example.TaskManagementSystem.dto.TaskDTO;
-import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.dto.TaskExportDTO;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.dto.TaskImportResultDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO;
+import com.example.TaskManagementSystem.dto.TaskSummary;
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PersonDetails;
+import com.example.TaskManagementSystem.services.TaskExportService;
+import com.example.TaskManagementSystem.services.TaskImportService;
 import com.example.TaskManagementSystem.services.TaskService;
-import com.example.TaskManagementSystem.services.UserService;
+import com.example.TaskManagementSystem.util.PreferHeader;
+import com.example.TaskManagementSystem.util.TaskETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -14,11 +23,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -27,25 +41,38 @@ import java.util.List;
 public class AdminTaskController {
 
     private final TaskService taskService;
-    private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private final TaskImportService taskImportService;
+    private final TaskExportService taskExportService;
 
-    public AdminTaskController(TaskService taskService, UserService userService, JwtUtil jwtUtil) {
+    public AdminTaskController(TaskService taskService, TaskImportService taskImportService, TaskExportService taskExportService) {
         this.taskService = taskService;
-        this.userService = userService;
-        this.jwtUtil = jwtUtil;
+        this.taskImportService = taskImportService;
+        this.taskExportService = taskExportService;
     }
 
     @Operation(
             summary = "Get all tasks",
-            description = "Retrieve all tasks (admin only)",
+            description = "Retrieve one page of tasks ordered by creation time, optionally filtered (admin only). " +
+                    "Pass nextCursor from the previous page to continue. " +
+                    "Comments are not included unless comments=N asks for the latest N per task",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Tasks retrieved successfully",
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                    schema = @Schema(implementation = TaskDTO[].class)
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid filter or cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidCursor",
+                                            value = "{ \"error\": \"Invalid cursor\" }"
+                                    )
                             )
                     ),
                     @ApiResponse(
@@ -62,8 +89,157 @@ public class AdminTaskController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<CursorPageDTO<TaskDTO>> getAllTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "0") int comments
+    ) {
+        TaskFilter filter = new TaskFilter(status, priority, author, assignee);
+        return ResponseEntity.ok(taskService.getTasksPage(filter, cursor, size, comments));
+    }
+
+    @Operation(
+            summary = "Search tasks",
+            description = "Full-text search over titles, descriptions and comments of all tasks, best match first (admin only). " +
+                    "Pass nextCursor from the previous page to continue",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Matching tasks retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Missing query or invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "MissingQuery",
+                                            value = "{ \"error\": \"Search query is required\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<TaskDTO>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(taskService.search(q, null, cursor, size));
+    }
+
+    @Operation(
+            summary = "Get task summaries",
+            description = "Retrieve one page of lightweight task summaries for dashboards (admin only). " +
+                    "Pass nextCursor from the previous page to continue",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Summaries retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidCursor",
+                                            value = "{ \"error\": \"Invalid cursor\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPageDTO<TaskSummary>> getTaskSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(taskService.getTaskSummaries(cursor, size));
+    }
+
+    @Operation(
+            summary = "Export all tasks",
+            description = "Stream every task as NDJSON (one JSON object per line) or CSV (admin only). " +
+                    "Rows are written while the database is still being read",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Export stream",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(implementation = TaskExportDTO.class)
+                                    ),
+                                    @Content(mediaType = "text/csv")
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Unsupported format",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidFormat",
+                                            value = "{ \"error\": \"Invalid export format value\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        TaskExportService.Format exportFormat = TaskExportService.Format.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.extension() + "\"")
+                .body(out -> taskExportService.export(exportFormat, out));
     }
 
     @Operation(
@@ -107,9 +283,42 @@ public class AdminTaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(taskService.create(taskDTO));
     }
 
+    @Operation(
+            summary = "Import tasks",
+            description = "Bulk import tasks from a JSON array or NDJSON stream (admin only). " +
+                    "Tasks are stored in chunks, each chunk in its own transaction; invalid rows are skipped " +
+                    "and reported with their position in the input",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import finished, rejected rows are listed in errors",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = TaskImportResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<TaskImportResultDTO> importTasks(InputStream body) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(body));
+    }
+
     @Operation(
             summary = "Update task",
-            description = "Update existing task by ID (admin only)",
+            description = "Update existing task by ID (admin only). " +
+                    "Send the ETag from a previous response as If-Match to reject concurrent edits",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -141,6 +350,17 @@ public class AdminTaskController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current task version",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "PreconditionFailed",
+                                            value = "{ \"error\": \"Task was modified, reload it and retry\" }"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -157,9 +377,10 @@ public class AdminTaskController {
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> updateTask(
             @PathVariable Long id,
-            @Valid @RequestBody TaskDTO taskDTO
+            @Valid @RequestBody TaskDTO taskDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return ResponseEntity.ok(taskService.update(id, taskDTO));
+        return TaskETag.ok(taskService.update(id, taskDTO, TaskETag.parseIfMatch(ifMatch)));
     }
 
     @Operation(
@@ -199,7 +420,8 @@ public class AdminTaskController {
 
     @Operation(
             summary = "Change task status",
-            description = "Update task status by ID (admin only)",
+            description = "Update task status by ID (admin only). " +
+                    "With Prefer: return=minimal only the changed fields are returned",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -231,6 +453,17 @@ public class AdminTaskController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current task version",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "PreconditionFailed",
+                                            value = "{ \"error\": \"Task was modified, reload it and retry\" }"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -245,16 +478,63 @@ public class AdminTaskController {
             }
     )
     @PatchMapping("/{id}/status")
-    public ResponseEntity<TaskDTO> changeStatus(
+    public ResponseEntity<?> changeStatus(
             @PathVariable Long id,
-            @RequestParam String status
+            @RequestParam String status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PreferHeader.PREFER, required = false) String prefer
     ) {
-        return ResponseEntity.ok(taskService.changeStatus(id, status));
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return PreferHeader.minimal(TaskETag.ok(taskService.changeStatusMinimal(id, status, TaskETag.parseIfMatch(ifMatch))));
+        }
+        return TaskETag.ok(taskService.changeStatus(id, status, TaskETag.parseIfMatch(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Change status of several tasks",
+            description = "Apply a list of {id, status} changes in one transaction (admin only)",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "One result per requested change, in request order",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = TaskStatusChangeResultDTO[].class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Too many changes in one request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "TooManyChanges",
+                                            value = "{ \"error\": \"At most 500 status changes per request\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/status")
+    public ResponseEntity<List<TaskStatusChangeResultDTO>> changeStatuses(@RequestBody List<TaskStatusChangeDTO> changes) {
+        return ResponseEntity.ok(taskService.changeStatuses(changes, null));
     }
 
     @Operation(
             summary = "Change task priority",
-            description = "Update task priority by ID (admin only)",
+            description = "Update task priority by ID (admin only). " +
+                    "With Prefer: return=minimal only the changed fields are returned",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -286,6 +566,17 @@ public class AdminTaskController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current task version",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "PreconditionFailed",
+                                            value = "{ \"error\": \"Task was modified, reload it and retry\" }"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -300,11 +591,16 @@ public class AdminTaskController {
             }
     )
     @PatchMapping("/{id}/priority")
-    public ResponseEntity<TaskDTO> changePriority(
+    public ResponseEntity<?> changePriority(
             @PathVariable Long id,
-            @RequestParam String priority
+            @RequestParam String priority,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PreferHeader.PREFER, required = false) String prefer
     ) {
-        return ResponseEntity.ok(taskService.changePriority(id, priority));
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return PreferHeader.minimal(TaskETag.ok(taskService.changePriorityMinimal(id, priority, TaskETag.parseIfMatch(ifMatch))));
+        }
+        return TaskETag.ok(taskService.changePriority(id, priority, TaskETag.parseIfMatch(ifMatch)));
     }
 
     @Operation(
@@ -341,6 +637,17 @@ public class AdminTaskController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current task version",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "PreconditionFailed",
+                                            value = "{ \"error\": \"Task was modified, reload it and retry\" }"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -357,9 +664,67 @@ public class AdminTaskController {
     @PostMapping("/{id}/assign")
     public ResponseEntity<TaskDTO> assignUserToTask(
             @PathVariable Long id,
-            @RequestParam String username
+            @RequestParam String username,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return TaskETag.ok(taskService.assignUser(id, username, TaskETag.parseIfMatch(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Get task comments",
+            description = "Retrieve one page of comments of any task, oldest first (admin only). " +
+                    "Pass nextCursor from the previous page to continue",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Comments retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidCursor",
+                                            value = "{ \"error\": \"Invalid cursor\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Task not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "NotFound",
+                                            value = "{ \"error\": \"Task not found\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
     ) {
-        return ResponseEntity.ok(taskService.assignUser(id, username));
+        return ResponseEntity.ok(taskService.getComments(id, null, cursor, size));
     }
 
     @Operation(
@@ -424,11 +789,9 @@ public class AdminTaskController {
     public ResponseEntity<CommentDTO> addComment(
             @PathVariable Long id,
             @Valid @RequestBody CommentDTO commentDTO,
-            @RequestHeader("Authorization") String token
+            @AuthenticationPrincipal PersonDetails principal
     ) {
-        String email = jwtUtil.validateTokenAndRetrieveClaim(token.substring(7));
-        User admin =  userService.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        User admin = principal.getUser();
 
         return ResponseEntity.ok(taskService.addComment(id, commentDTO, admin.getUsername()));
     }
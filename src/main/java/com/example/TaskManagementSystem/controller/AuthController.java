@@ -1,11 +1,16 @@
 package com.example.TaskManagementSystem.controller;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.example.TaskManagementSystem.dto.AuthenticationDTO;
+import com.example.TaskManagementSystem.dto.RefreshTokenDTO;
 import com.example.TaskManagementSystem.dto.UserDTO;
+import com.example.TaskManagementSystem.exceptions.TooManyRequestsException;
 import com.example.TaskManagementSystem.mappers.UserMapper;
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PersonDetails;
+import com.example.TaskManagementSystem.security.TokenPair;
 import com.example.TaskManagementSystem.services.RegistrationService;
+import com.example.TaskManagementSystem.services.TokenService;
 import com.example.TaskManagementSystem.util.UserValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +19,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -29,27 +37,27 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
-@Tag(name = "Authentication", description = "Registration and login endpoints")
+@Tag(name = "Authentication", description = "Registration, login and token refresh endpoints")
 public class AuthController {
 
     private final RegistrationService registrationService;
     private final UserValidator userValidator;
-    private final JwtUtil jwtUtil;
+    private final TokenService tokenService;
     private final UserMapper userMapper;
     private final AuthenticationManager authenticationManager;
 
     public AuthController(AuthenticationManager authenticationManager, RegistrationService registrationService,
-                          UserValidator userValidator, JwtUtil jwtUtil, UserMapper userMapper) {
+                          UserValidator userValidator, TokenService tokenService, UserMapper userMapper) {
         this.authenticationManager = authenticationManager;
         this.registrationService = registrationService;
         this.userValidator = userValidator;
-        this.jwtUtil = jwtUtil;
+        this.tokenService = tokenService;
         this.userMapper = userMapper;
     }
 
     @Operation(
             summary = "User registration",
-            description = "Register new User and get JWT token",
+            description = "Register new User and get a short-lived JWT token together with a refresh token",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -59,7 +67,7 @@ public class AuthController {
                                     schema = @Schema(implementation = Map.class), // Указываем тип ответа
                                     examples = @ExampleObject(
                                             name = "SuccessResponse",
-                                            value = "{ \"jwt-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\" }"
+                                            value = "{ \"jwt-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"refresh-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\" }"
                                     )
                             )
                     ),
@@ -74,6 +82,17 @@ public class AuthController {
                                             value = "{ \"error\": \"Email should be valid\" }")
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Password hashing is saturated, retry after the Retry-After header",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "TooManyRequests",
+                                            value = "Too many sign-in attempts, try again later"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal Server error",
@@ -96,13 +115,12 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", bindingResult.getAllErrors().get(0).getDefaultMessage()));
         }
         registrationService.register(user);
-        String token = jwtUtil.generateToken(user.getEmail());
-        return ResponseEntity.ok(Map.of("jwt-token", token));
+        return ResponseEntity.ok(toResponse(tokenService.issue(user)));
     }
 
     @Operation(
             summary = "User login",
-            description = "Authenticate user and get JWT token",
+            description = "Authenticate user and get a short-lived JWT token together with a refresh token",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -112,7 +130,7 @@ public class AuthController {
                                     schema = @Schema(implementation = Map.class),
                                     examples = @ExampleObject(
                                             name = "SuccessResponse",
-                                            value = "{ \"jwt-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\" }"
+                                            value = "{ \"jwt-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"refresh-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\" }"
                                     )
                             )
                     ),
@@ -128,6 +146,17 @@ public class AuthController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Password hashing is saturated, retry after the Retry-After header",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "TooManyRequests",
+                                            value = "Too many sign-in attempts, try again later"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal Server error",
@@ -146,15 +175,76 @@ public class AuthController {
         UsernamePasswordAuthenticationToken authInputToken =
                 new UsernamePasswordAuthenticationToken(authenticationDTO.email(),
                         authenticationDTO.password());
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(authInputToken);
+            authentication = authenticationManager.authenticate(authInputToken);
         } catch (BadCredentialsException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid email or password"));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Internal server error"));
         }
-        String token = jwtUtil.generateToken(authenticationDTO.email());
-        return ResponseEntity.ok(Map.of("jwt-token", token));
+        User user = ((PersonDetails) authentication.getPrincipal()).getUser();
+        return ResponseEntity.ok(toResponse(tokenService.issue(user)));
+    }
+
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Exchange a refresh token for a new JWT token and refresh token without the password",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Tokens refreshed",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = @ExampleObject(
+                                            name = "SuccessResponse",
+                                            value = "{ \"jwt-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\", \"refresh-token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Refresh token is invalid, expired or revoked",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = @ExampleObject(
+                                            name = "InvalidRefreshToken",
+                                            value = "{ \"error\": \"Invalid refresh token\" }"
+                                    )
+                            )
+                    )
+            })
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@Valid @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        try {
+            return ResponseEntity.ok(toResponse(tokenService.refresh(refreshTokenDTO.refreshToken())));
+        } catch (JWTVerificationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid refresh token"));
+        }
+    }
+
+    @Operation(
+            summary = "Logout everywhere",
+            description = "Revoke every JWT token and refresh token issued to the current user",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Tokens revoked"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+            })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal PersonDetails principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        tokenService.revokeAll(principal.getUser().getEmail());
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Map<String, String> toResponse(TokenPair tokens) {
+        return Map.of("jwt-token", tokens.accessToken(), "refresh-token", tokens.refreshToken());
     }
 
     private User convertToUser(UserDTO userDTO) {
@@ -1,12 +1,18 @@
 package com.example.TaskManagementSystem.controller;
 
 import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
 import com.example.TaskManagementSystem.dto.TaskDTO;
-import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.dto.TaskDeltaDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO;
+import com.example.TaskManagementSystem.dto.TaskSummary;
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PersonDetails;
 import com.example.TaskManagementSystem.services.TaskService;
-import com.example.TaskManagementSystem.services.UserService;
+import com.example.TaskManagementSystem.services.TaskSyncService;
+import com.example.TaskManagementSystem.util.PreferHeader;
+import com.example.TaskManagementSystem.util.TaskETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -14,8 +20,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,25 +34,25 @@ import java.util.List;
 @Tag(name = "TaskController", description = "Task endpoints for USER")
 public class TaskController {
     private final TaskService taskService;
-    private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private final TaskSyncService taskSyncService;
 
-    public TaskController(TaskService taskService, UserService userService, JwtUtil jwtUtil) {
+    public TaskController(TaskService taskService, TaskSyncService taskSyncService) {
         this.taskService = taskService;
-        this.userService = userService;
-        this.jwtUtil = jwtUtil;
+        this.taskSyncService = taskSyncService;
     }
 
     @Operation(
             summary = "Get User tasks",
-            description = "Retrieve all tasks for the current user",
+            description = "Retrieve one page of tasks the current user authored or is assigned to, " +
+                    "newest first by default. Pass nextCursor from the previous page and the same direction to continue. " +
+                    "Comments are not included unless comments=N asks for the latest N per task",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Tasks retrieved successfully",
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
-                                    schema = @Schema(implementation = TaskDTO[].class)
+                                    schema = @Schema(implementation = CursorPageDTO.class)
                             )
                     ),
                     @ApiResponse(
@@ -52,8 +61,8 @@ public class TaskController {
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     examples = @ExampleObject(
-                                            name = "InvalidRequest",
-                                            value = "{ \"error\": \"Invalid token\" }"
+                                            name = "InvalidCursor",
+                                            value = "{ \"error\": \"Invalid cursor\" }"
                                     )
                             )
                     ),
@@ -71,16 +80,167 @@ public class TaskController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getTasksForUser(
-            @RequestHeader("Authorization") String token) {
+    public ResponseEntity<CursorPageDTO<TaskDTO>> getTasksForUser(
+            @AuthenticationPrincipal PersonDetails principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int comments) {
 
-        User user = getCurrentUser(token);
-        return ResponseEntity.ok(taskService.getTasksForUser(user.getUsername()));
+        User user = principal.getUser();
+        return ResponseEntity.ok(taskService.getTasksForUser(user.getId(), cursor, size, direction, comments));
+    }
+
+    @Operation(
+            summary = "Get changes of User tasks",
+            description = "Retrieve the tasks the current user authored or is assigned to that were created or changed " +
+                    "since the watermark, including comment and assignee changes, and the ids of such tasks deleted since. " +
+                    "Pass an empty since for the initial sync, then the returned watermark; call again right away " +
+                    "while hasMore is true. Changes show up after a lag of a few seconds",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Changes retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = TaskDeltaDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid watermark",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidWatermark",
+                                            value = "{ \"error\": \"Invalid watermark\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping(params = "since")
+    public ResponseEntity<TaskDeltaDTO> getTaskChanges(
+            @AuthenticationPrincipal PersonDetails principal,
+            @RequestParam String since,
+            @RequestParam(defaultValue = "200") int size) {
+
+        User user = principal.getUser();
+        return ResponseEntity.ok(taskSyncService.getChangesForUser(user.getId(), since, size));
+    }
+
+    @Operation(
+            summary = "Search tasks",
+            description = "Full-text search over titles, descriptions and comments of the tasks the current user " +
+                    "authored or is assigned to, best match first. Pass nextCursor from the previous page to continue",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Matching tasks retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Missing query or invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "MissingQuery",
+                                            value = "{ \"error\": \"Search query is required\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<TaskDTO>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal PersonDetails principal
+    ) {
+
+        User user = principal.getUser();
+
+        return ResponseEntity.ok(taskService.search(q, user.getId(), cursor, size));
+    }
+
+    @Operation(
+            summary = "Get User task summaries",
+            description = "Retrieve one page of lightweight summaries of the tasks the current user authored " +
+                    "or is assigned to, oldest first. Pass nextCursor from the previous page to continue",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Summaries retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid cursor",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidCursor",
+                                            value = "{ \"error\": \"Invalid cursor\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPageDTO<TaskSummary>> getTaskSummariesForUser(
+            @AuthenticationPrincipal PersonDetails principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        User user = principal.getUser();
+        return ResponseEntity.ok(taskService.getTaskSummariesForUser(user.getId(), cursor, size));
     }
 
     @Operation(
             summary = "Get task by ID",
-            description = "Retrieve a specific task by its ID",
+            description = "Retrieve a specific task by its ID. " +
+                    "Comments are not included unless comments=N asks for the latest N",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -127,18 +287,19 @@ public class TaskController {
     )
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id,
-                                               @RequestHeader("Authorization") String token) {
-
-        User user = getCurrentUser(token);
+                                               @RequestParam(defaultValue = "0") int comments,
+                                               @AuthenticationPrincipal PersonDetails principal) {
 
-        taskService.checkTaskAccess(id, user.getUsername());
+        User user = principal.getUser();
 
-        return ResponseEntity.ok(taskService.getById(id));
+        return TaskETag.ok(taskService.getAccessibleById(id, user.getId(), comments));
     }
 
     @Operation(
             summary = "Update task status",
-            description = "Update the status of a specific task",
+            description = "Update the status of a specific task. " +
+                    "Send the ETag from a previous response as If-Match to reject concurrent edits. " +
+                    "With Prefer: return=minimal only the changed fields are returned",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -181,6 +342,17 @@ public class TaskController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "If-Match does not match the current task version",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "PreconditionFailed",
+                                            value = "{ \"error\": \"Task was modified, reload it and retry\" }"
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "500",
                             description = "Internal server error",
@@ -195,18 +367,141 @@ public class TaskController {
             }
     )
     @PatchMapping("/{id}/status")
-    public ResponseEntity<TaskDTO> updateTaskStatus(
+    public ResponseEntity<?> updateTaskStatus(
             @PathVariable Long id,
             @RequestParam String status,
-            @RequestHeader("Authorization") String token
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PreferHeader.PREFER, required = false) String prefer,
+            @AuthenticationPrincipal PersonDetails principal
     ) {
 
 
-        User user = getCurrentUser(token);
+        User user = principal.getUser();
 
-        taskService.checkTaskAccess(id, user.getUsername());
+        taskService.checkTaskAccess(id, user.getId());
 
-        return ResponseEntity.ok(taskService.changeStatus(id, status));
+        if (PreferHeader.isReturnMinimal(prefer)) {
+            return PreferHeader.minimal(TaskETag.ok(taskService.changeStatusMinimal(id, status, TaskETag.parseIfMatch(ifMatch))));
+        }
+        return TaskETag.ok(taskService.changeStatus(id, status, TaskETag.parseIfMatch(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Change status of several tasks",
+            description = "Apply a list of {id, status} changes in one transaction. " +
+                    "Tasks the user neither authored nor is assigned to are reported as FORBIDDEN and left unchanged",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "One result per requested change, in request order",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = TaskStatusChangeResultDTO[].class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Too many changes in one request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "TooManyChanges",
+                                            value = "{ \"error\": \"At most 500 status changes per request\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/status")
+    public ResponseEntity<List<TaskStatusChangeResultDTO>> changeStatuses(
+            @RequestBody List<TaskStatusChangeDTO> changes,
+            @AuthenticationPrincipal PersonDetails principal
+    ) {
+        User user = principal.getUser();
+        return ResponseEntity.ok(taskService.changeStatuses(changes, user.getId()));
+    }
+
+    @Operation(
+            summary = "Get task comments",
+            description = "Retrieve one page of comments of a specific task, oldest first. " +
+                    "Pass nextCursor from the previous page to continue",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Comments retrieved successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CursorPageDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InvalidCursor",
+                                            value = "{ \"error\": \"Invalid cursor\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Access denied",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "AccessDenied",
+                                            value = "{ \"error\": \"Access denied\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Task not found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "NotFound",
+                                            value = "{ \"error\": \"Task not found\" }"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "InternalError",
+                                            value = "{ \"error\": \"Internal server error\" }"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal PersonDetails principal
+    ) {
+
+        User user = principal.getUser();
+
+        return ResponseEntity.ok(taskService.getComments(id, user.getId(), cursor, size));
     }
 
     @Operation(
@@ -271,17 +566,11 @@ public class TaskController {
     public ResponseEntity<CommentDTO> addComment(
             @PathVariable Long id,
             @Valid @RequestBody CommentDTO commentDTO,
-            @RequestHeader("Authorization") String token
+            @AuthenticationPrincipal PersonDetails principal
     ) {
 
-        User user = getCurrentUser(token);
+        User user = principal.getUser();
 
         return ResponseEntity.ok(taskService.addComment(id, commentDTO, user.getUsername()));
     }
-
-    private User getCurrentUser(String token) {
-        String email = jwtUtil.validateTokenAndRetrieveClaim(token.substring(7));
-        return userService.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-    }
 }
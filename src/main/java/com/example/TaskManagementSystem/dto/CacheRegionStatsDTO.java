@@ -0,0 +1,15 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record CacheRegionStatsDTO(
+        @Schema(description = "Second-level cache region", example = "users")
+        String region,
+        @Schema(description = "Lookups answered from the cache", example = "1520")
+        long hits,
+        @Schema(description = "Lookups that went to the database", example = "35")
+        long misses,
+        @Schema(description = "Entries written to the cache", example = "35")
+        long puts
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        @Schema(description = "Items of the current page")
+        List<T> items,
+        @Schema(description = "Opaque token for the next page, null when there are no more items",
+                example = "MjAyNS0wNC0wMVQxMDoxNTozMC4xMjN8NDI")
+        String nextCursor
+) {
+}
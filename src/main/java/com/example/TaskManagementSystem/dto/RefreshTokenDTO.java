@@ -0,0 +1,10 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(
+        @Schema(example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...", description = "Refresh token from login or a previous refresh")
+        @NotBlank(message = "Refresh token не должен быть пустым")
+        String refreshToken) {
+}
@@ -0,0 +1,25 @@
+package com.example.TaskManagementSystem.dto;
+
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response to a status or priority change sent with {@code Prefer: return=minimal}: only the
+ * fields the change wrote. The new version is in the {@code ETag} header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChangeDTO(
+        @Schema(description = "Task id", example = "42")
+        Long id,
+        @Schema(description = "New status, if it was changed", example = "COMPLETED")
+        TaskStatus status,
+        @Schema(description = "New priority, if it was changed", example = "HIGH")
+        TaskPriority priority,
+        @Schema(description = "Time of the change")
+        LocalDateTime updatedAt
+) {
+}
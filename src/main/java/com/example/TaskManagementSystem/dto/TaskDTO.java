@@ -26,8 +26,14 @@ public record TaskDTO(
         String author,
         @Schema(description = "List of assignees for the task")
         List<String> assignees,
-        @Schema(description = "Comments related to the task")
-        List<CommentDTO> comments
-
+        @Schema(description = "Comments to create with the task. In responses only the latest ones, " +
+                "newest first, and only if requested; page through GET /api/tasks/{id}/comments for all")
+        List<CommentDTO> comments,
+        @Schema(description = "Number of comments on the task", example = "12", accessMode = Schema.AccessMode.READ_ONLY)
+        Integer commentCount
 ) {
+
+    public TaskDTO withComments(List<CommentDTO> comments) {
+        return new TaskDTO(title, description, status, priority, author, assignees, comments, commentCount);
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TaskDeltaDTO(
+        @Schema(description = "Tasks created or changed since the watermark, oldest change first")
+        List<ChangedTask> changed,
+        @Schema(description = "Ids of tasks deleted since the watermark", example = "[17, 42]")
+        List<Long> deleted,
+        @Schema(description = "Opaque watermark to pass as since on the next call",
+                example = "MjAyNS0wNC0wMVQxMDoxNTozMC4xMjN8NDJ8MTk3MC0wMS0wMVQwMDowMHww")
+        String watermark,
+        @Schema(description = "Whether more changes are ready, the client should call again right away", example = "false")
+        boolean hasMore
+) {
+    public record ChangedTask(
+            @Schema(description = "Task id", example = "42")
+            Long id,
+            @Schema(description = "Task version, the ETag of the task", example = "3")
+            long version,
+            @Schema(description = "Time of the last change of the task, its comments or assignees",
+                    example = "2025-04-01T10:15:30.123")
+            LocalDateTime updatedAt,
+            @Schema(description = "Current state of the task")
+            TaskDTO task
+    ) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TaskExportDTO(
+        @Schema(description = "Task id", example = "42")
+        Long id,
+        @Schema(description = "Title of the task", example = "Implement user auth")
+        String title,
+        @Schema(description = "Description for the task", example = "Develop the authentication module for user login...")
+        String description,
+        @Schema(description = "Status of the task", example = "IN_PROGRESS")
+        String status,
+        @Schema(description = "Priority of the task", example = "HIGH")
+        String priority,
+        @Schema(description = "Author of the task", example = "Admin")
+        String author,
+        @Schema(description = "List of assignees for the task")
+        List<String> assignees,
+        @Schema(description = "Comments related to the task")
+        List<CommentDTO> comments,
+        @Schema(description = "Creation time of the task")
+        LocalDateTime createdAt,
+        @Schema(description = "Last modification time of the task")
+        LocalDateTime updatedAt
+) {
+
+    public TaskExportDTO withComments(List<CommentDTO> comments) {
+        return new TaskExportDTO(id, title, description, status, priority, author, assignees, comments, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TaskFilter(
+        @Schema(description = "Only tasks with this status", example = "IN_PROGRESS",
+                allowableValues = {"PENDING", "IN_PROGRESS", "COMPLETED"})
+        String status,
+        @Schema(description = "Only tasks with this priority", example = "HIGH",
+                allowableValues = {"LOW", "MEDIUM", "HIGH"})
+        String priority,
+        @Schema(description = "Only tasks created by this user", example = "Admin")
+        String author,
+        @Schema(description = "Only tasks assigned to this user", example = "Bobby")
+        String assignee
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TaskImportErrorDTO(
+        @Schema(description = "1-based position of the task in the imported stream", example = "42")
+        long row,
+        @Schema(description = "Why the task was not imported", example = "Title cannot be empty")
+        String message
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record TaskImportResultDTO(
+        @Schema(description = "Number of tasks stored", example = "9998")
+        int imported,
+        @Schema(description = "Rows that were rejected, in input order")
+        List<TaskImportErrorDTO> errors
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.TaskManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TaskStatusChangeDTO(
+        @Schema(description = "Task id", example = "42")
+        Long id,
+        @Schema(description = "New status of the task", example = "COMPLETED",
+                allowableValues = {"PENDING", "IN_PROGRESS", "COMPLETED"})
+        String status,
+        @Schema(description = "Expected task version (the ETag value); omit to change unconditionally", example = "3")
+        Long version
+) {
+}
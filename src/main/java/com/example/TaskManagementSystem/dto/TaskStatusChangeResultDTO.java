@@ -0,0 +1,27 @@
+package com.example.TaskManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskStatusChangeResultDTO(
+        @Schema(description = "Task id from the request", example = "42")
+        Long id,
+        @Schema(description = "What happened to this change", example = "UPDATED")
+        Outcome outcome,
+        @Schema(description = "New task version, only for updated tasks", example = "4")
+        Long version
+) {
+
+    public enum Outcome {
+        UPDATED,
+        INVALID,
+        NOT_FOUND,
+        FORBIDDEN,
+        VERSION_CONFLICT
+    }
+
+    public static TaskStatusChangeResultDTO failed(Long id, Outcome outcome) {
+        return new TaskStatusChangeResultDTO(id, outcome, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.TaskManagementSystem.dto;
+
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+public record TaskSummary(
+        @Schema(description = "Task id", example = "42")
+        Long id,
+        @Schema(description = "Title of the task", example = "Implement user auth")
+        String title,
+        @Schema(description = "Status of the task", example = "IN_PROGRESS")
+        TaskStatus status,
+        @Schema(description = "Priority of the task", example = "HIGH")
+        TaskPriority priority,
+        @Schema(description = "Author of the task", example = "Admin")
+        String author,
+        @Schema(description = "Number of users assigned to the task", example = "3")
+        int assigneeCount,
+        @Schema(description = "Number of comments on the task", example = "12")
+        int commentCount,
+        @Schema(description = "Creation time of the task")
+        LocalDateTime createdAt
+) {
+}
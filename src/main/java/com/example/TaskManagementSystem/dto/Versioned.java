@@ -0,0 +1,8 @@
+package com.example.TaskManagementSystem.dto;
+
+/**
+ * A response body together with the entity version it was read at, sent to clients as
+ * the {@code ETag} header rather than as part of the body.
+ */
+public record Versioned<T>(T body, long version) {
+}
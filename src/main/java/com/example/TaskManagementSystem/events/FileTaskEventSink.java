@@ -0,0 +1,46 @@
+package com.example.TaskManagementSystem.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a file as NDJSON, one event per line, which local consumers can tail.
+ * Each batch is written with a single write and forced to disk before {@link #publish} returns.
+ */
+public class FileTaskEventSink implements TaskEventSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileTaskEventSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<TaskEvent> events) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (TaskEvent event : events) {
+                lines.write(objectMapper.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append task events to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.TaskManagementSystem.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every published event in memory, for tests and local development. Nothing is ever
+ * dropped, so it must not be used in production.
+ */
+public class InMemoryTaskEventSink implements TaskEventSink {
+
+    private final List<TaskEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<TaskEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<TaskEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
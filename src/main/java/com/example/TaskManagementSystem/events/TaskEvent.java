@@ -0,0 +1,30 @@
+package com.example.TaskManagementSystem.events;
+
+import com.example.TaskManagementSystem.models.OutboxEvent;
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change as handed to a {@link TaskEventSink}. Delivery is at least once, consumers
+ * skip ids they have already seen. Events of one task may arrive out of order, even by id:
+ * ids are allocated in blocks per instance and several relays publish concurrently. Consumers
+ * order a task's changes by the {@code version} of {@link
+ * com.example.TaskManagementSystem.dto.Versioned} payloads and ignore older versions than they
+ * have applied, a creation being version 0; comments carry no task version and are added by
+ * their own id.
+ *
+ * @param payload JSON of the change, see {@link TaskEventType}; {@code null} for deletions
+ */
+public record TaskEvent(
+        long id,
+        TaskEventType type,
+        long taskId,
+        LocalDateTime occurredAt,
+        @JsonRawValue String payload
+) {
+    public static TaskEvent from(OutboxEvent event) {
+        return new TaskEvent(event.getId(), event.getType(), event.getTaskId(), event.getCreatedAt(), event.getPayload());
+    }
+}
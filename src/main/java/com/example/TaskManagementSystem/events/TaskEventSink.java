@@ -0,0 +1,13 @@
+package com.example.TaskManagementSystem.events;
+
+import java.util.List;
+
+/**
+ * Destination of the task change stream, fed by {@code OutboxRelay} in batches ordered by
+ * event id. A batch counts as delivered when {@link #publish} returns; if it throws, the
+ * same events are offered again on the next run.
+ */
+public interface TaskEventSink {
+
+    void publish(List<TaskEvent> events);
+}
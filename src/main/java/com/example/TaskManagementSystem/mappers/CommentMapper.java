@@ -7,6 +7,10 @@ import com.example.TaskManagementSystem.util.UserFinder;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 
 @Mapper(componentModel = "spring", uses = {UserMapper.class}, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
 public abstract class CommentMapper {
@@ -23,11 +27,35 @@ public abstract class CommentMapper {
     @Mapping(target = "author", source = "author", qualifiedByName = "commentAuthor")
     public abstract Comment toEntity(CommentDTO dto);
 
+    /**
+     * Maps a whole comment list, resolving all authors with at most one query instead of one per comment.
+     */
+    public List<Comment> toEntities(List<CommentDTO> dtos) {
+        if (dtos == null) {
+            return null;
+        }
+        Map<String, User> authors = userFinder.referencesByUsername(dtos.stream().map(CommentDTO::author).toList());
+        List<Comment> comments = new ArrayList<>(dtos.size());
+        for (CommentDTO dto : dtos) {
+            Comment comment = toEntityWithoutAuthor(dto);
+            comment.setAuthor(authors.get(dto.author()));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    @Named("withoutAuthor")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "task", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    protected abstract Comment toEntityWithoutAuthor(CommentDTO dto);
+
     @Mapping(target = "author", source = "author.username")
     public abstract CommentDTO toDto(Comment comment);
 
     @Named("commentAuthor")
     public User mapAuthor(String username) {
-        return userFinder.findByUsername(username);
+        return userFinder.referenceByUsername(username);
     }
 }
@@ -2,14 +2,17 @@ package com.example.TaskManagementSystem.mappers;
 
 
 import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskExportDTO;
 import com.example.TaskManagementSystem.models.Task;
 import com.example.TaskManagementSystem.models.User;
 import com.example.TaskManagementSystem.models.enums.TaskPriority;
 import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.util.EnumParser;
 import com.example.TaskManagementSystem.util.UserFinder;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,18 +28,38 @@ public abstract class TaskMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "author", source = "author", qualifiedByName = "taskAuthor")
     @Mapping(target = "assignees", source = "assignees", qualifiedByName = "mapAssignees")
     public abstract Task toEntity(TaskDTO dto);
 
+    /**
+     * Comments are left out, see {@link TaskDTO#withComments}; only their count is mapped.
+     */
     @Mapping(target = "author", source = "author.username")
     @Mapping(target = "assignees", source = "assignees", qualifiedByName = "mapAssigneesInverse")
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "withComments", ignore = true)
     @InheritInverseConfiguration(name = "toEntity")
     public abstract TaskDTO toDTO(Task entity);
 
+    /**
+     * Comments are left out, the export reads them through their own cursor.
+     */
+    @Mapping(target = "author", source = "author.username")
+    @Mapping(target = "assignees", source = "assignees", qualifiedByName = "mapAssigneesInverse")
+    @Mapping(target = "comments", ignore = true)
+    public abstract TaskExportDTO toExportDTO(Task entity);
+
+    /**
+     * Comments are left alone, they change through their own endpoints; an update without
+     * them would otherwise orphan the whole collection.
+     */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "comments", ignore = true)
     @Mapping(target = "status", source = "status")
     @Mapping(target = "priority", source = "priority")
     @Mapping(target = "title", source = "title")
@@ -46,23 +69,21 @@ public abstract class TaskMapper {
     public abstract void updateTaskFromDto(TaskDTO dto, @MappingTarget Task task);
 
     protected TaskStatus mapStatus(String status) {
-        return status != null ? TaskStatus.valueOf(status.toUpperCase()) : null;
+        return EnumParser.parseEnum(TaskStatus.class, status, "status");
     }
 
     protected TaskPriority mapPriority(String priority) {
-        return priority != null ? TaskPriority.valueOf(priority.toUpperCase()) : null;
+        return EnumParser.parseEnum(TaskPriority.class, priority, "priority");
     }
 
     @Named("taskAuthor")
     protected User mapAuthor(String username) {
-        return userFinder.findByUsername(username);
+        return userFinder.referenceByUsername(username);
     }
 
     @Named("mapAssignees")
     protected Set<User> mapAssignees(List<String> usernames) {
-        return usernames.stream()
-                .map(userFinder::findByUsername)
-                .collect(Collectors.toSet());
+        return new HashSet<>(userFinder.referencesByUsername(usernames).values());
     }
 
     @Named("mapAssigneesInverse")
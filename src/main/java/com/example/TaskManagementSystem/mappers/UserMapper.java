@@ -9,5 +9,6 @@ import org.mapstruct.Mapping;
 public interface UserMapper {
 
     @Mapping(target = "role", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toUser(UserDTO userDTO);
 }
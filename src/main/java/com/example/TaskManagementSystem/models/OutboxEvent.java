@@ -0,0 +1,69 @@
+package com.example.TaskManagementSystem.models;
+
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change written in the same transaction as the change itself and removed once
+ * {@code OutboxRelay} has handed it to the event sink.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private TaskEventType type;
+
+    // no foreign key, the event of a deleted task outlives it
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // JSON, the task state or change the event is about
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(TaskEventType type, Long taskId, String payload) {
+        this.type = type;
+        this.taskId = taskId;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TaskEventType getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
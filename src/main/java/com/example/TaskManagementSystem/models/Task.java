@@ -1,9 +1,14 @@
 package com.example.TaskManagementSystem.models;
 
+import com.example.TaskManagementSystem.config.SecondLevelCacheConfig;
 import com.example.TaskManagementSystem.models.enums.TaskPriority;
 import com.example.TaskManagementSystem.models.enums.TaskStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,9 +19,17 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.SUMMARY_GRAPH,
+        attributeNodes = @NamedAttributeNode("author"))
+@NamedEntityGraph(name = Task.DETAIL_GRAPH,
+        attributeNodes = {@NamedAttributeNode("author"), @NamedAttributeNode("assignees")})
 public class Task {
+    public static final String SUMMARY_GRAPH = "Task.summary";
+    public static final String DETAIL_GRAPH = "Task.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -34,12 +47,15 @@ public class Task {
     private User author;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TASK_ASSIGNEES_REGION)
     @JoinTable( name = "task_assignees",
                 joinColumns = @JoinColumn(name = "task_id"),
                 inverseJoinColumns = @JoinColumn(name = "user_id"))
     private Set<User> assignees = new HashSet<>();
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<Comment> comments = new ArrayList<>();
 
     @Column(name = "created_at", updatable = false)
@@ -50,6 +66,13 @@ public class Task {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
+    // correlated count over idx_comments_task_created_at, so reads never touch the comment rows
+    @Formula("(SELECT COUNT(*) FROM comments c WHERE c.task_id = id)")
+    private int commentCount;
+
     public Task() {
     }
 
@@ -143,4 +166,16 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.TaskManagementSystem.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Marks a task as gone for one user who could see it, because it was deleted or the user was
+ * removed from it, so the delta sync can report the deletion.
+ */
+@Entity
+@Table(name = "task_tombstones")
+@IdClass(TaskTombstone.Key.class)
+public class TaskTombstone {
+    // no foreign keys, the tombstone outlives the task and may outlive the user
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public TaskTombstone() {
+    }
+
+    public TaskTombstone(Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public static class Key implements Serializable {
+        private Long taskId;
+        private Long userId;
+
+        public Key() {
+        }
+
+        public Key(Long taskId, Long userId) {
+            this.taskId = taskId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(taskId, key.taskId) && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(taskId, userId);
+        }
+    }
+}
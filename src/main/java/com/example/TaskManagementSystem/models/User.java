@@ -1,17 +1,27 @@
 package com.example.TaskManagementSystem.models;
 
+import com.example.TaskManagementSystem.config.SecondLevelCacheConfig;
 import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.security.UserChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = 100)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS_REGION)
+@EntityListeners(UserChangeListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(unique = true)
     @NotBlank
     private String username;
 
@@ -25,6 +35,13 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
+    // the email as loaded, principals cached under it must go when the email changes
+    @Transient
+    private String loadedEmail;
+
     public User() {
     }
 
@@ -36,10 +53,19 @@ public class User {
         this.role = role;
     }
 
+    @PostLoad
+    void rememberLoadedEmail() {
+        loadedEmail = email;
+    }
+
     public String getEmail() {
         return email;
     }
 
+    public String getLoadedEmail() {
+        return loadedEmail;
+    }
+
     public void setEmail(String email) {
         this.email = email;
     }
@@ -60,6 +86,14 @@ public class User {
         this.password = password;
     }
 
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public Role getRole() {
         return role;
     }
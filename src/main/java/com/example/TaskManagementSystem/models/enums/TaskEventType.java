@@ -0,0 +1,5 @@
+package com.example.TaskManagementSystem.models.enums;
+
+public enum TaskEventType {
+    CREATED, UPDATED, DELETED, STATUS_CHANGED, PRIORITY_CHANGED, ASSIGNEE_ADDED, COMMENT_ADDED
+}
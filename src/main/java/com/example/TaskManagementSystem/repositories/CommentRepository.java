@@ -1,12 +1,66 @@
 package com.example.TaskManagementSystem.repositories;
 
 import com.example.TaskManagementSystem.models.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId ORDER BY c.createdAt, c.id")
+    List<Comment> findPage(@Param("taskId") Long taskId, Limit limit);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("""
+            SELECT c FROM Comment c
+            WHERE c.task.id = :taskId
+              AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id))
+            ORDER BY c.createdAt, c.id
+            """)
+    List<Comment> findPageAfter(@Param("taskId") Long taskId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id, Limit limit);
+
+    /**
+     * The {@code limit} newest comments of each task, newest first, in one statement. Each task
+     * reads only its newest rows from the (task_id, created_at, id) index instead of ranking
+     * all of its comments. Hibernate emulates the lateral join on databases without one, such as H2.
+     */
+    @Query("""
+            SELECT c FROM Task t
+            JOIN LATERAL (
+                SELECT latest.id AS id FROM Comment latest
+                WHERE latest.task = t
+                ORDER BY latest.createdAt DESC, latest.id DESC
+                LIMIT :limit
+            ) newest
+            JOIN Comment c ON c.id = newest.id
+            WHERE t.id IN :taskIds
+            ORDER BY t.id, c.createdAt DESC, c.id DESC
+            """)
+    List<Comment> findLatestByTaskIdIn(@Param("taskIds") Collection<Long> taskIds, @Param("limit") int limit);
+
+    /**
+     * Reads every comment in task id order through a server-side cursor, for merging with
+     * {@link TaskRepository#streamAllForExport()}. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TaskRepository.EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.repositories.ExportedComment(c.task.id, c.text, a.username)
+            FROM Comment c JOIN c.author a
+            ORDER BY c.task.id, c.createdAt, c.id
+            """)
+    Stream<ExportedComment> streamAllForExport();
 }
@@ -0,0 +1,7 @@
+package com.example.TaskManagementSystem.repositories;
+
+/**
+ * A comment as the NDJSON export writes it, with the id of its task.
+ */
+public record ExportedComment(Long taskId, String text, String author) {
+}
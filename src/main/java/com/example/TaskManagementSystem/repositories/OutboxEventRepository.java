@@ -0,0 +1,27 @@
+package com.example.TaskManagementSystem.repositories;
+
+import com.example.TaskManagementSystem.models.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events, locked with {@code SKIP LOCKED} so that relays on several instances
+     * take disjoint batches instead of waiting for each other. Ids come from a pooled sequence
+     * (50 per instance) and relays publish in parallel, so id order is neither commit order nor
+     * the order in which a task's events reach the sink, see {@link
+     * com.example.TaskManagementSystem.events.TaskEvent}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_LOCK_MODE, value = "upgrade-skiplocked"))
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> findOldest(Limit limit);
+}
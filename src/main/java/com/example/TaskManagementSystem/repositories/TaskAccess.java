@@ -0,0 +1,7 @@
+package com.example.TaskManagementSystem.repositories;
+
+/**
+ * Current version of a task and whether the asking user may change it.
+ */
+public record TaskAccess(Long id, Long version, Boolean accessible) {
+}
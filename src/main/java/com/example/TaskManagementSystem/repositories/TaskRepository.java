@@ -1,19 +1,118 @@
 package com.example.TaskManagementSystem.repositories;
 
+import com.example.TaskManagementSystem.dto.TaskSummary;
 import com.example.TaskManagementSystem.models.Task;
-import com.example.TaskManagementSystem.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
+    int EXPORT_FETCH_SIZE = 500;
 
-    @Query("SELECT t FROM Task t WHERE t.author = :user OR :user MEMBER OF t.assignees")
-    List<Task> findByAuthorOrAssigneesContains(@Param("user") User user);
+    @Override
+    @EntityGraph(Task.DETAIL_GRAPH)
+    Optional<Task> findById(Long id);
+
+    @EntityGraph(Task.DETAIL_GRAPH)
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.id = :taskId
+              AND (t.author.id = :userId OR EXISTS (SELECT a FROM t.assignees a WHERE a.id = :userId))
+            """)
+    Optional<Task> findAccessibleById(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Query("""
+            SELECT COUNT(t) > 0 FROM Task t
+            WHERE t.id = :taskId
+              AND (t.author.id = :userId OR EXISTS (SELECT a FROM t.assignees a WHERE a.id = :userId))
+            """)
+    boolean isAccessibleBy(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    /**
+     * Ids of the tasks the user authored or is assigned to that changed after the
+     * {@code (updatedAt, id)} keyset, up to and including {@code upTo}, in keyset order.
+     */
+    @Query("""
+            SELECT t.id FROM Task t
+            WHERE (t.author.id = :userId OR EXISTS (SELECT a FROM t.assignees a WHERE a.id = :userId))
+              AND t.updatedAt <= :upTo
+              AND (t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id))
+            ORDER BY t.updatedAt, t.id
+            """)
+    List<Long> findChangedIdsForUser(@Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt,
+                                     @Param("id") Long id, @Param("upTo") LocalDateTime upTo, Limit limit);
+
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.repositories.TaskAccess(t.id, t.version, true)
+            FROM Task t
+            WHERE t.id IN :ids
+            """)
+    List<TaskAccess> findAccessByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.repositories.TaskAccess(t.id, t.version,
+                CASE WHEN t.author.id = :userId OR EXISTS (SELECT a FROM t.assignees a WHERE a.id = :userId)
+                     THEN true ELSE false END)
+            FROM Task t
+            WHERE t.id IN :ids
+            """)
+    List<TaskAccess> findAccessByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(Task.SUMMARY_GRAPH)
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.dto.TaskSummary(
+                t.id, t.title, t.status, t.priority, a.username, SIZE(t.assignees), SIZE(t.comments), t.createdAt)
+            FROM Task t JOIN t.author a
+            ORDER BY t.createdAt, t.id
+            """)
+    List<TaskSummary> findSummaries(Limit limit);
+
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.dto.TaskSummary(
+                t.id, t.title, t.status, t.priority, a.username, SIZE(t.assignees), SIZE(t.comments), t.createdAt)
+            FROM Task t JOIN t.author a
+            WHERE t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)
+            ORDER BY t.createdAt, t.id
+            """)
+    List<TaskSummary> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.dto.TaskSummary(
+                t.id, t.title, t.status, t.priority, a.username, SIZE(t.assignees), SIZE(t.comments), t.createdAt)
+            FROM Task t JOIN t.author a
+            WHERE t.id IN :ids
+            """)
+    List<TaskSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads every task through a server-side cursor, {@link #EXPORT_FETCH_SIZE} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.author ORDER BY t.id")
+    Stream<Task> streamAllForExport();
 }
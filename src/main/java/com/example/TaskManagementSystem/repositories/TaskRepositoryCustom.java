@@ -0,0 +1,54 @@
+package com.example.TaskManagementSystem.repositories;
+
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Ids of the tasks the user authored or is assigned to, ordered by {@code (createdAt, id)}
+     * in the given direction and starting after the keyset position.
+     */
+    List<Long> findIdsForUser(Long userId, KeysetScrollPosition position, Sort.Direction direction, int limit);
+
+    /**
+     * Sets the status without loading the task. With a non-null {@code version} the row is
+     * only updated if nobody changed it since; returns the number of updated rows.
+     */
+    int updateStatus(Long id, TaskStatus status, Long version, LocalDateTime now);
+
+    /**
+     * Same as {@link #updateStatus} for the priority.
+     */
+    int updatePriority(Long id, TaskPriority priority, Long version, LocalDateTime now);
+
+    /**
+     * Bumps {@code updatedAt} without loading the task or its version, for changes that live
+     * outside the task row such as comments; returns the number of updated rows.
+     */
+    int touch(Long id, LocalDateTime now);
+
+    /**
+     * Applies all status changes as one JDBC batch. Each row is only updated if its version is
+     * still {@link StatusUpdate#version()}; the returned counts are in input order.
+     */
+    int[] updateStatuses(List<StatusUpdate> updates, LocalDateTime now);
+
+    /**
+     * Ids of the tasks whose title, description or comments match the web-search style query,
+     * best match first and starting after {@code after}. With a non-null {@code userId} only
+     * tasks the user authored or is assigned to are returned.
+     */
+    List<SearchHit> search(String query, Long userId, SearchHit after, int limit);
+
+    record StatusUpdate(Long id, TaskStatus status, long version) {
+    }
+
+    record SearchHit(Long id, double rank) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.TaskManagementSystem.repositories;
+
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native SQL for "my tasks" and full-text search (PostgreSQL only), and plain JDBC for
+ * single-row and batched task updates.
+ */
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    // {after} and {order} are filled in per direction, see findIdsForUser
+    private static final String MY_TASKS = """
+            SELECT mine.id FROM (
+                SELECT authored.id, authored.created_at FROM (
+                    SELECT t.id, t.created_at FROM tasks t
+                    WHERE t.author_id = :userId {after}
+                    ORDER BY t.created_at {order}, t.id {order}
+                    LIMIT :limit
+                ) authored
+                UNION ALL
+                SELECT assigned.id, assigned.created_at FROM (
+                    SELECT t.id, t.created_at FROM task_assignees ta JOIN tasks t ON t.id = ta.task_id
+                    WHERE ta.user_id = :userId {after}
+                    ORDER BY t.created_at {order}, t.id {order}
+                    LIMIT :limit
+                ) assigned
+            ) mine
+            GROUP BY mine.id, mine.created_at
+            ORDER BY mine.created_at {order}, mine.id {order}
+            """;
+
+    private static final String UPDATE_STATUS = """
+            UPDATE tasks SET status = ?, version = version + 1, updated_at = ?
+            WHERE id = ? AND version = ?
+            """;
+
+    private static final String UPDATE_STATUS_ANY_VERSION = """
+            UPDATE tasks SET status = ?, version = version + 1, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String UPDATE_PRIORITY = """
+            UPDATE tasks SET priority = ?, version = version + 1, updated_at = ?
+            WHERE id = ? AND version = ?
+            """;
+
+    private static final String UPDATE_PRIORITY_ANY_VERSION = """
+            UPDATE tasks SET priority = ?, version = version + 1, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String TOUCH = "UPDATE tasks SET updated_at = ? WHERE id = ?";
+
+    // a task ranks by its best match, either its own text or one of its comments
+    private static final String SEARCH = """
+            WITH matches AS (
+                SELECT t.id, ts_rank(t.search_vector, q.query) AS rank
+                FROM tasks t, websearch_to_tsquery('simple', :query) AS q(query)
+                WHERE t.search_vector @@ q.query
+                UNION ALL
+                SELECT c.task_id, ts_rank(c.search_vector, q.query)
+                FROM comments c, websearch_to_tsquery('simple', :query) AS q(query)
+                WHERE c.search_vector @@ q.query
+            )
+            SELECT hit.id, hit.rank FROM (
+                SELECT m.id, CAST(MAX(m.rank) AS double precision) AS rank FROM matches m GROUP BY m.id
+            ) hit
+            """;
+
+    private static final String VISIBLE_TO_USER = """
+            EXISTS (SELECT 1 FROM tasks t WHERE t.id = hit.id AND (t.author_id = :userId
+                OR EXISTS (SELECT 1 FROM task_assignees ta WHERE ta.task_id = t.id AND ta.user_id = :userId)))
+            """;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    TaskRepositoryImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> findIdsForUser(Long userId, KeysetScrollPosition position, Sort.Direction direction, int limit) {
+        Map<String, Object> keys = position.getKeys();
+        // a row comparison, so the keyset is a range condition on the (..., created_at, id) index
+        String after = keys.isEmpty() ? ""
+                : "AND (t.created_at, t.id) " + (direction.isAscending() ? ">" : "<") + " (:createdAt, :id)";
+        String sql = MY_TASKS
+                .replace("{after}", after)
+                .replace("{order}", direction.isAscending() ? "ASC" : "DESC");
+
+        // a task both authored and assigned comes from both halves, GROUP BY keeps it once
+        Query query = entityManager.createNativeQuery(sql, Long.class)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit)
+                .setMaxResults(limit);
+        if (!keys.isEmpty()) {
+            query.setParameter("createdAt", (LocalDateTime) keys.get("createdAt"))
+                    .setParameter("id", (Long) keys.get("id"));
+        }
+        @SuppressWarnings("unchecked")
+        List<Long> ids = query.getResultList();
+        return ids;
+    }
+
+    @Override
+    public List<SearchHit> search(String query, Long userId, SearchHit after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (userId != null) {
+            conditions.add(VISIBLE_TO_USER);
+        }
+        if (after != null) {
+            conditions.add("(hit.rank < :rank OR (hit.rank = :rank AND hit.id < :id))\n");
+        }
+        StringBuilder sql = new StringBuilder(SEARCH);
+        if (!conditions.isEmpty()) {
+            sql.append("WHERE ").append(String.join("AND ", conditions));
+        }
+        sql.append("ORDER BY hit.rank DESC, hit.id DESC");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString())
+                .setParameter("query", query)
+                .setMaxResults(limit);
+        if (userId != null) {
+            nativeQuery.setParameter("userId", userId);
+        }
+        if (after != null) {
+            nativeQuery.setParameter("rank", after.rank())
+                    .setParameter("id", after.id());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        return rows.stream()
+                .map(row -> new SearchHit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()))
+                .toList();
+    }
+
+    @Override
+    public int updateStatus(Long id, TaskStatus status, Long version, LocalDateTime now) {
+        return update(version == null ? UPDATE_STATUS_ANY_VERSION : UPDATE_STATUS, status.name(), now, id, version);
+    }
+
+    @Override
+    public int updatePriority(Long id, TaskPriority priority, Long version, LocalDateTime now) {
+        return update(version == null ? UPDATE_PRIORITY_ANY_VERSION : UPDATE_PRIORITY, priority.name(), now, id, version);
+    }
+
+    @Override
+    public int touch(Long id, LocalDateTime now) {
+        entityManager.flush();
+        int updated = jdbcTemplate.update(TOUCH, now, id);
+        detach(id);
+        return updated;
+    }
+
+    // like @Modifying(flushAutomatically): pending changes go out first, and only the updated
+    // task is detached so the caller's other managed entities stay managed
+    private int update(String sql, String value, LocalDateTime now, Long id, Long version) {
+        entityManager.flush();
+        int updated = version == null
+                ? jdbcTemplate.update(sql, value, now, id)
+                : jdbcTemplate.update(sql, value, now, id, version);
+        detach(id);
+        return updated;
+    }
+
+    // getReference returns the managed instance if there is one and an unloaded proxy otherwise,
+    // neither runs a SELECT; the next find reads the row again
+    private void detach(Long id) {
+        entityManager.detach(entityManager.getReference(Task.class, id));
+    }
+
+    @Override
+    public int[] updateStatuses(List<StatusUpdate> updates, LocalDateTime now) {
+        // runs in the caller's JPA transaction, JpaTransactionManager exposes its connection
+        List<Object[]> rows = updates.stream()
+                .map(update -> new Object[]{update.status().name(), now, update.id(), update.version()})
+                .toList();
+        return jdbcTemplate.batchUpdate(UPDATE_STATUS, rows);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.TaskManagementSystem.repositories;
+
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.util.EnumParser;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification.where(hasStatus(filter.status()))
+                .and(hasPriority(filter.priority()))
+                .and(hasAuthor(filter.author()))
+                .and(hasAssignee(filter.assignee()));
+    }
+
+    public static Specification<Task> hasStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        TaskStatus value = EnumParser.parseEnum(TaskStatus.class, status, "status");
+        return (root, query, cb) -> cb.equal(root.get("status"), value);
+    }
+
+    public static Specification<Task> hasPriority(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return null;
+        }
+        TaskPriority value = EnumParser.parseEnum(TaskPriority.class, priority, "priority");
+        return (root, query, cb) -> cb.equal(root.get("priority"), value);
+    }
+
+    public static Specification<Task> hasAuthor(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("author").get("username"), username);
+    }
+
+    public static Specification<Task> hasAssignee(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> assigned = query.subquery(Long.class);
+            Root<Task> task = assigned.correlate(root);
+            Join<Task, User> assignee = task.join("assignees");
+            assigned.select(assignee.get("id"))
+                    .where(cb.equal(assignee.get("username"), username));
+            return cb.exists(assigned);
+        };
+    }
+}
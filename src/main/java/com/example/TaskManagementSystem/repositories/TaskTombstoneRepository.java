@@ -0,0 +1,65 @@
+package com.example.TaskManagementSystem.repositories;
+
+import com.example.TaskManagementSystem.models.TaskTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, TaskTombstone.Key> {
+
+    /**
+     * Writes a tombstone for the author and every assignee of the task with a single statement;
+     * has to run before the task and its assignee rows are deleted. Native inserts name the
+     * table they change, otherwise Hibernate would clear the whole second-level cache.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tombstones"))
+    @Query(value = """
+            INSERT INTO task_tombstones (task_id, user_id, deleted_at)
+            SELECT id, author_id, CAST(:deletedAt AS TIMESTAMP) FROM tasks WHERE id = :taskId
+            UNION
+            SELECT task_id, user_id, CAST(:deletedAt AS TIMESTAMP) FROM task_assignees WHERE task_id = :taskId
+            """, nativeQuery = true)
+    int insertForTask(@Param("taskId") Long taskId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Writes a tombstone for each of the users, who can no longer see the task; existing
+     * tombstones of these users for the task have to be removed first.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_tombstones"))
+    @Query(value = """
+            INSERT INTO task_tombstones (task_id, user_id, deleted_at)
+            SELECT :taskId, id, CAST(:deletedAt AS TIMESTAMP) FROM users WHERE id IN (:userIds)
+            """, nativeQuery = true)
+    int insertForUsers(@Param("taskId") Long taskId, @Param("userIds") Collection<Long> userIds,
+                       @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TaskTombstone t WHERE t.taskId = :taskId AND t.userId IN :userIds")
+    int deleteForUsers(@Param("taskId") Long taskId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * The user's tombstones after the {@code (deletedAt, taskId)} keyset, up to and including {@code upTo}.
+     */
+    @Query("""
+            SELECT t FROM TaskTombstone t
+            WHERE t.userId = :userId
+              AND t.deletedAt <= :upTo
+              AND (t.deletedAt > :deletedAt OR (t.deletedAt = :deletedAt AND t.taskId > :taskId))
+            ORDER BY t.deletedAt, t.taskId
+            """)
+    List<TaskTombstone> findForUserAfter(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt,
+                                         @Param("taskId") Long taskId, @Param("upTo") LocalDateTime upTo, Limit limit);
+}
@@ -0,0 +1,7 @@
+package com.example.TaskManagementSystem.repositories;
+
+/**
+ * Username and id of a user, without the rest of the row.
+ */
+public record UserIdentity(Long id, String username) {
+}
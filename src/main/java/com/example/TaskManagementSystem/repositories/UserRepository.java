@@ -1,15 +1,40 @@
 package com.example.TaskManagementSystem.repositories;
 
+import com.example.TaskManagementSystem.config.SecondLevelCacheConfig;
 import com.example.TaskManagementSystem.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUPS_REGION)
+    })
     Optional<User> findByUsername(String username);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUPS_REGION)
+    })
     Optional<User> findByEmail(String email);
+
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    @Query("""
+            SELECT new com.example.TaskManagementSystem.repositories.UserIdentity(u.id, u.username)
+            FROM User u
+            WHERE u.username IN :usernames
+            """)
+    List<UserIdentity> findIdentitiesByUsernameIn(@Param("usernames") Collection<String> usernames);
 }
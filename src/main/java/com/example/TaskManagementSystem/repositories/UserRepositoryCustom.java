@@ -0,0 +1,19 @@
+package com.example.TaskManagementSystem.repositories;
+
+import java.util.OptionalLong;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Revokes every token issued to the user so far, without loading the user; the caller
+     * invalidates the cached principal itself. Returns the number of updated rows.
+     */
+    int incrementTokenVersion(String email);
+
+    /**
+     * The user's current token version, read from the database past the second-level and the
+     * query cache, so a revocation made on another instance counts at once. Empty if there is
+     * no such user.
+     */
+    OptionalLong findTokenVersion(String email);
+}
@@ -0,0 +1,56 @@
+package com.example.TaskManagementSystem.repositories;
+
+import com.example.TaskManagementSystem.models.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Plain JDBC instead of a bulk update: after a JPQL or native bulk update of users Hibernate
+ * evicts the whole users region and every collection region holding users, task-assignees
+ * included. Only the changed user is evicted here.
+ */
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    UserRepositoryImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int incrementTokenVersion(String email) {
+        entityManager.flush();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email = ?", Long.class, email);
+        for (Long id : ids) {
+            jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE id = ?", id);
+            entityManager.detach(entityManager.getReference(User.class, id));
+        }
+
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(User.class, id));
+        // a read before commit would put the old version back into the cache
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(id -> cache.evict(User.class, id));
+                }
+            });
+        }
+        return ids.size();
+    }
+
+    @Override
+    public OptionalLong findTokenVersion(String email) {
+        List<Long> versions = jdbcTemplate.queryForList("SELECT token_version FROM users WHERE email = ?", Long.class, email);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+}
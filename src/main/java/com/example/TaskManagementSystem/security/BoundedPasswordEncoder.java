@@ -0,0 +1,72 @@
+package com.example.TaskManagementSystem.security;
+
+import com.example.TaskManagementSystem.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs hashing and verification of the delegate on a bounded executor. A login or
+ * registration burst then occupies at most threads plus queue capacity request threads,
+ * which wait for their hash; any request beyond that fails fast with
+ * {@link TooManyRequestsException} instead of tying up a Tomcat worker for the
+ * whole burst.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // only parses the hash prefix, no need to queue for that
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Shuts the executor down with the encoder, if it is one that needs it.
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private <T> T run(Supplier<T> work) {
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many sign-in attempts, try again later");
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.TaskManagementSystem.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * JWT signing configuration.
+ *
+ * @param secret          HMAC secret used to sign new tokens
+ * @param keyId           {@code kid} header written into new tokens
+ * @param retiredKeys     secrets of previous signing keys by {@code kid}, still accepted for verification
+ *                        until the tokens signed with them expire
+ * @param accessTokenTtl  lifetime of bearer tokens
+ * @param refreshTokenTtl lifetime of refresh tokens, which are exchanged for new tokens without a password
+ */
+@ConfigurationProperties("jwt")
+public record JwtProperties(
+        String secret,
+        @DefaultValue("default") String keyId,
+        Map<String, String> retiredKeys,
+        @DefaultValue("15m") Duration accessTokenTtl,
+        @DefaultValue("30d") Duration refreshTokenTtl
+) {
+    public JwtProperties {
+        retiredKeys = retiredKeys == null ? Map.of() : Map.copyOf(retiredKeys);
+    }
+}
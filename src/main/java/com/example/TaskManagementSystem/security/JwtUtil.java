@@ -3,38 +3,119 @@ package com.example.TaskManagementSystem.security;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.ZonedDateTime;
-import java.util.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 public class JwtUtil {
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String SUBJECT = "User details";
+    private static final String ISSUER = "timofeev";
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    private static final String ACCESS_TOKEN_TYPE = "access";
 
-    public String generateToken(String email) {
-        Date expirationDate = Date.from(ZonedDateTime.now().plusMinutes(60).toInstant());
+    private final String keyId;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Algorithm signingAlgorithm;
+    private final JWTVerifier signingKeyVerifier;
+    private final Map<String, JWTVerifier> verifiersByKeyId;
+
+    public JwtUtil(JwtProperties properties) {
+        this.keyId = properties.keyId();
+        this.accessTokenTtl = properties.accessTokenTtl();
+        this.refreshTokenTtl = properties.refreshTokenTtl();
+        this.signingAlgorithm = Algorithm.HMAC256(properties.secret());
+        this.signingKeyVerifier = buildVerifier(signingAlgorithm);
+
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        properties.retiredKeys().forEach((kid, secret) -> verifiers.put(kid, buildVerifier(Algorithm.HMAC256(secret))));
+        verifiers.put(keyId, signingKeyVerifier);
+        this.verifiersByKeyId = Map.copyOf(verifiers);
+    }
+
+    public String generateAccessToken(String email, long tokenVersion) {
+        return generateToken(email, tokenVersion, ACCESS_TOKEN_TYPE, accessTokenTtl);
+    }
+
+    public String generateRefreshToken(String email, long tokenVersion) {
+        return generateToken(email, tokenVersion, REFRESH_TOKEN_TYPE, refreshTokenTtl);
+    }
+
+    public String validateTokenAndRetrieveClaim(String token) throws JWTVerificationException {
+        return verify(token).email();
+    }
+
+    /**
+     * Verifies a bearer token. Refresh tokens are rejected so that a stolen long-lived token
+     * cannot be used against the API directly.
+     */
+    public VerifiedToken verify(String token) throws JWTVerificationException {
+        DecodedJWT jwt = decodeAndVerify(token);
+        if (REFRESH_TOKEN_TYPE.equals(jwt.getClaim(TOKEN_TYPE_CLAIM).asString())) {
+            throw new IncorrectClaimException("Refresh token used as access token", TOKEN_TYPE_CLAIM, jwt.getClaim(TOKEN_TYPE_CLAIM));
+        }
+        return toVerifiedToken(jwt);
+    }
+
+    public VerifiedToken verifyRefreshToken(String token) throws JWTVerificationException {
+        DecodedJWT jwt = decodeAndVerify(token);
+        if (!REFRESH_TOKEN_TYPE.equals(jwt.getClaim(TOKEN_TYPE_CLAIM).asString())) {
+            throw new IncorrectClaimException("Not a refresh token", TOKEN_TYPE_CLAIM, jwt.getClaim(TOKEN_TYPE_CLAIM));
+        }
+        return toVerifiedToken(jwt);
+    }
+
+    private String generateToken(String email, long tokenVersion, String tokenType, Duration ttl) {
+        Instant now = Instant.now();
 
         return JWT.create()
-                .withSubject("User details")
+                .withKeyId(keyId)
+                .withSubject(SUBJECT)
                 .withClaim("email", email)
-                .withIssuedAt(new Date())
-                .withIssuer("timofeev")
-                .withExpiresAt(expirationDate)
-                .sign(Algorithm.HMAC256(secret));
+                .withClaim(TOKEN_TYPE_CLAIM, tokenType)
+                .withClaim(TOKEN_VERSION_CLAIM, tokenVersion)
+                .withIssuedAt(now)
+                .withIssuer(ISSUER)
+                .withExpiresAt(now.plus(ttl))
+                .sign(signingAlgorithm);
     }
 
-    public String validateTokenAndRetrieveClaim(String token) throws JWTVerificationException {
-        JWTVerifier verifier = JWT.require(Algorithm.HMAC256(secret))
-                .withSubject("User details")
-                .withIssuer("timofeev")
-                .build();
+    private DecodedJWT decodeAndVerify(String token) throws JWTVerificationException {
+        DecodedJWT decoded = JWT.decode(token);
+        return verifierFor(decoded.getKeyId()).verify(decoded);
+    }
 
-        DecodedJWT jwt = verifier.verify(token);
-        return jwt.getClaim("email").asString();
+    private static VerifiedToken toVerifiedToken(DecodedJWT jwt) {
+        // tokens issued before revocation was introduced carry no version
+        Long version = jwt.getClaim(TOKEN_VERSION_CLAIM).asLong();
+        return new VerifiedToken(jwt.getClaim("email").asString(), version == null ? 0 : version, jwt.getExpiresAtAsInstant());
+    }
+
+    private JWTVerifier verifierFor(String kid) {
+        // tokens issued before key ids were introduced carry no kid
+        if (kid == null) {
+            return signingKeyVerifier;
+        }
+        JWTVerifier verifier = verifiersByKeyId.get(kid);
+        if (verifier == null) {
+            throw new JWTVerificationException("Unknown key id: " + kid);
+        }
+        return verifier;
+    }
+
+    private static JWTVerifier buildVerifier(Algorithm algorithm) {
+        return JWT.require(algorithm)
+                .withSubject(SUBJECT)
+                .withIssuer(ISSUER)
+                .build();
     }
 }
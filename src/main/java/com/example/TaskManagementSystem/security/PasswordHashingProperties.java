@@ -0,0 +1,24 @@
+package com.example.TaskManagementSystem.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * BCrypt configuration, see {@link BoundedPasswordEncoder}.
+ *
+ * @param strength      BCrypt cost, every step doubles the hashing time; stored hashes with a
+ *                      lower cost are upgraded on the next successful login
+ * @param threads       threads hashing passwords, 0 for one per available processor
+ * @param queueCapacity hashing requests that may wait for a thread before further ones are
+ *                      rejected with 429
+ */
+@ConfigurationProperties("security.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("10") int strength,
+        @DefaultValue("0") int threads,
+        @DefaultValue("32") int queueCapacity
+) {
+    public PasswordHashingProperties {
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
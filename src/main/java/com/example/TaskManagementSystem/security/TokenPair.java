@@ -0,0 +1,7 @@
+package com.example.TaskManagementSystem.security;
+
+/**
+ * Short-lived bearer token together with the refresh token that renews it.
+ */
+public record TokenPair(String accessToken, String refreshToken) {
+}
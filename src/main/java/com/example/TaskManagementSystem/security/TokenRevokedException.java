@@ -0,0 +1,12 @@
+package com.example.TaskManagementSystem.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+/**
+ * A validly signed token issued before the user's tokens were last revoked.
+ */
+public class TokenRevokedException extends JWTVerificationException {
+    public TokenRevokedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.TaskManagementSystem.security;
+
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.util.UserFinder;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Drops the cached principal of a user whose role, password or email changes, and the
+ * username to id mapping of {@link UserFinder} when a user is removed.
+ */
+@Component
+public class UserChangeListener {
+
+    private final PrincipalCache principalCache;
+    // looked up lazily, UserFinder depends on the entity manager this listener is part of
+    private final ObjectProvider<UserFinder> userFinder;
+
+    public UserChangeListener(PrincipalCache principalCache, ObjectProvider<UserFinder> userFinder) {
+        this.principalCache = principalCache;
+        this.userFinder = userFinder;
+    }
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        invalidatePrincipals(user);
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        invalidatePrincipals(user);
+        userFinder.ifAvailable(finder -> finder.invalidate(user.getUsername()));
+    }
+
+    private void invalidatePrincipals(User user) {
+        Set<String> emails = new LinkedHashSet<>();
+        emails.add(user.getEmail());
+        emails.add(user.getLoadedEmail());
+        emails.removeIf(Objects::isNull);
+        emails.forEach(principalCache::invalidate);
+        // runs at flush: a request loading the principal before commit would cache the old row again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emails.forEach(principalCache::invalidate);
+                }
+            });
+        }
+    }
+}
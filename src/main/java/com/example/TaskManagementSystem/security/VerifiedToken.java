@@ -0,0 +1,16 @@
+package com.example.TaskManagementSystem.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature, issuer, subject and expiry have been checked.
+ *
+ * @param tokenVersion the user's token version at issue time, the token is revoked once the
+ *                     user's current version is higher
+ */
+public record VerifiedToken(String email, long tokenVersion, Instant expiresAt) {
+
+    public boolean isRevoked(long currentTokenVersion) {
+        return tokenVersion < currentTokenVersion;
+    }
+}
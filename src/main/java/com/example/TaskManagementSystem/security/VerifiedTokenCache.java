@@ -0,0 +1,108 @@
+package com.example.TaskManagementSystem.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens that already passed {@link JwtUtil#verify(String)} so that a client reusing
+ * its bearer token skips signature verification and claim decoding. Entries are keyed by the
+ * SHA-256 of the token and expire exactly when the token does.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    private final Clock clock;
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${security.token-cache.enabled:true}") boolean enabled,
+                              @Value("${security.token-cache.maximum-size:10000}") long maximumSize) {
+        this(jwtUtil, enabled, maximumSize, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(JwtUtil jwtUtil, boolean enabled, long maximumSize, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .expireAfter(new UntilTokenExpiry(clock))
+                .build();
+    }
+
+    public VerifiedToken verify(String token) throws JWTVerificationException {
+        if (!enabled) {
+            return jwtUtil.verify(token);
+        }
+
+        ByteBuffer key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (clock.instant().isBefore(cached.expiresAt())) {
+                return cached;
+            }
+            cache.invalidate(key);
+            throw new TokenExpiredException("The Token has expired on " + cached.expiresAt() + ".", cached.expiresAt());
+        }
+
+        VerifiedToken verified = jwtUtil.verify(token);
+        if (verified.expiresAt() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(hash(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record UntilTokenExpiry(Clock clock) implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.config.SecondLevelCacheConfig;
+import com.example.TaskManagementSystem.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatsDTO> getSecondLevelCacheStats() {
+        return SecondLevelCacheConfig.BOUNDED_REGIONS.stream()
+                .map(region -> {
+                    CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+                    return stats == null
+                            ? new CacheRegionStatsDTO(region, 0, 0, 0)
+                            : new CacheRegionStatsDTO(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount());
+                })
+                .toList();
+    }
+}
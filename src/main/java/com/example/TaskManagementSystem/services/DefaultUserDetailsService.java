@@ -4,14 +4,16 @@ import com.example.TaskManagementSystem.models.User;
 import com.example.TaskManagementSystem.repositories.UserRepository;
 import com.example.TaskManagementSystem.security.PersonDetails;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
-public class DefaultUserDetailsService implements UserDetailsService {
+public class DefaultUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     public DefaultUserDetailsService(UserRepository userRepository) {
@@ -28,4 +30,13 @@ public class DefaultUserDetailsService implements UserDetailsService {
         return new PersonDetails(user.get());
     }
 
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findById(((PersonDetails) userDetails).getUser().getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPassword(newPassword);
+        return new PersonDetails(userRepository.save(user));
+    }
+
 }
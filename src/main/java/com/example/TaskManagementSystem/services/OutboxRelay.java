@@ -0,0 +1,71 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.config.OutboxProperties;
+import com.example.TaskManagementSystem.events.TaskEvent;
+import com.example.TaskManagementSystem.events.TaskEventSink;
+import com.example.TaskManagementSystem.models.OutboxEvent;
+import com.example.TaskManagementSystem.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves events from the outbox table to the {@link TaskEventSink}. Each batch is read, published
+ * and deleted in one transaction, so a failing sink leaves the batch in place for the next run.
+ * Published events are counted in {@code outbox.events.published}.
+ */
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TaskEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter published;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, TaskEventSink sink,
+                       PlatformTransactionManager transactionManager, OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.batchSize();
+        this.published = Counter.builder("outbox.events.published")
+                .description("Task events handed to the event sink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox batch by batch. Runs every {@code outbox.relay.interval} unless
+     * {@code outbox.relay.enabled=false}.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:1s}")
+    public void relay() {
+        while (publishBatch() == batchSize) {
+            // a full batch suggests more are waiting
+        }
+    }
+
+    /**
+     * @return the number of events published, 0 when the outbox is empty
+     */
+    public int publishBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findOldest(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            sink.publish(batch.stream().map(TaskEvent::from).toList());
+            outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+            return batch.size();
+        });
+        published.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskExportDTO;
+import com.example.TaskManagementSystem.mappers.TaskMapper;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.repositories.CommentRepository;
+import com.example.TaskManagementSystem.repositories.ExportedComment;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.util.EnumParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole task table as NDJSON or CSV while reading it through a database cursor.
+ * Tasks are mapped and written one fetch block at a time and the persistence context is
+ * cleared after every block. NDJSON merges in a second cursor over the comments, so memory use
+ * depends on the block size and the comments of a single task, not on the table size.
+ */
+@Service
+public class TaskExportService {
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            return EnumParser.parseEnum(Format.class, value, "export format");
+        }
+    }
+
+    private static final String CSV_HEADER = "id,title,description,status,priority,author,assignees,comment_count,created_at,updated_at";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskMapper taskMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public TaskExportService(TaskRepository taskRepository, CommentRepository commentRepository, TaskMapper taskMapper,
+                             EntityManager entityManager, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.taskMapper = taskMapper;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(TaskExportDTO.class);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        // the headers and the first rows should reach the client before the cursor is drained
+        writer.flush();
+
+        try (Stream<Task> tasks = taskRepository.streamAllForExport();
+             Stream<ExportedComment> comments = format == Format.NDJSON ? commentRepository.streamAllForExport() : Stream.empty()) {
+            Iterator<Task> cursor = tasks.iterator();
+            CommentCursor commentCursor = new CommentCursor(comments.iterator());
+            List<Task> block = new ArrayList<>(TaskRepository.EXPORT_FETCH_SIZE);
+            while (cursor.hasNext()) {
+                block.add(cursor.next());
+                if (block.size() == TaskRepository.EXPORT_FETCH_SIZE) {
+                    writeBlock(format, block, commentCursor, writer);
+                }
+            }
+            writeBlock(format, block, commentCursor, writer);
+        }
+    }
+
+    private void writeBlock(Format format, List<Task> block, CommentCursor comments, Writer writer) throws IOException {
+        // assignees are loaded by @BatchSize for the whole block at once
+        for (Task task : block) {
+            if (format == Format.NDJSON) {
+                TaskExportDTO dto = taskMapper.toExportDTO(task).withComments(comments.next(task.getId()));
+                writer.write(jsonWriter.writeValueAsString(dto));
+            } else {
+                writeCsvRow(task, writer);
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+        block.clear();
+        entityManager.clear();
+    }
+
+    /**
+     * Walks the comments in task id order alongside the tasks.
+     */
+    private static final class CommentCursor {
+
+        private final Iterator<ExportedComment> comments;
+        private ExportedComment pending;
+
+        CommentCursor(Iterator<ExportedComment> comments) {
+            this.comments = comments;
+            this.pending = comments.hasNext() ? comments.next() : null;
+        }
+
+        /**
+         * The comments of the task, oldest first. Comments of a task the task cursor does not
+         * see, because it was committed after the cursor was opened, are skipped.
+         */
+        List<CommentDTO> next(Long taskId) {
+            List<CommentDTO> result = new ArrayList<>();
+            while (pending != null && pending.taskId() <= taskId) {
+                if (pending.taskId().equals(taskId)) {
+                    result.add(new CommentDTO(pending.text(), pending.author()));
+                }
+                pending = comments.hasNext() ? comments.next() : null;
+            }
+            return result;
+        }
+    }
+
+    // CSV only has the comment count, which comes with the task row, so comments are never loaded
+    private static void writeCsvRow(Task task, Writer writer) throws IOException {
+        writer.write(String.join(",",
+                csv(task.getId()),
+                csvText(task.getTitle()),
+                csvText(task.getDescription()),
+                csv(task.getStatus()),
+                csv(task.getPriority()),
+                csvText(task.getAuthor().getUsername()),
+                csvText(task.getAssignees().stream().map(User::getUsername).collect(Collectors.joining(";"))),
+                csv(task.getCommentCount()),
+                csv(task.getCreatedAt()),
+                csv(task.getUpdatedAt())));
+    }
+
+    /**
+     * User-entered text. A leading {@code '} keeps spreadsheets from evaluating cells that
+     * start like a formula.
+     */
+    private static String csvText(String value) {
+        if (value != null && !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            return csv("'" + value);
+        }
+        return csv(value);
+    }
+
+    private static String csv(Object field) {
+        if (field == null) {
+            return "";
+        }
+        String value = field.toString();
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
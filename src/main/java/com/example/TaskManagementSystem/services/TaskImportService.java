@@ -0,0 +1,214 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskImportErrorDTO;
+import com.example.TaskManagementSystem.dto.TaskImportResultDTO;
+import com.example.TaskManagementSystem.models.Comment;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.util.EnumParser;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams tasks from a JSON array or NDJSON body and stores them chunk by chunk. Each chunk
+ * is one transaction whose inserts Hibernate sends as JDBC batches; a rejected row is
+ * reported and skipped, and a failing chunk is rolled back without affecting the others.
+ */
+@Service
+public class TaskImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TaskImportService(ObjectMapper objectMapper,
+                             Validator validator,
+                             UserService userService,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${tasks.import.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("tasks.import.chunk-size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.userService = userService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public TaskImportResultDTO importTasks(InputStream body) throws IOException {
+        List<TaskImportErrorDTO> errors = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int imported = 0;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                // step inside the array, its elements are then read just like NDJSON lines
+                first = parser.nextToken();
+            }
+            if (first == null || first == JsonToken.END_ARRAY) {
+                return new TaskImportResultDTO(0, List.of());
+            }
+            MappingIterator<TaskDTO> rows = objectMapper.readerFor(TaskDTO.class).readValues(parser);
+            long row = 0;
+            while (true) {
+                row++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(new ImportRow(row, rows.nextValue()));
+                } catch (JsonParseException e) {
+                    errors.add(new TaskImportErrorDTO(row, "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    errors.add(new TaskImportErrorDTO(row, e.getOriginalMessage()));
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    imported += importChunk(chunk, errors);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, errors);
+        }
+
+        errors.sort(Comparator.comparingLong(TaskImportErrorDTO::row));
+        return new TaskImportResultDTO(imported, errors);
+    }
+
+    private int importChunk(List<ImportRow> chunk, List<TaskImportErrorDTO> errors) {
+        List<Long> stored = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, User> users = findUsers(chunk);
+                for (ImportRow row : chunk) {
+                    String error = validate(row.task(), users);
+                    if (error != null) {
+                        errors.add(new TaskImportErrorDTO(row.number(), error));
+                        continue;
+                    }
+                    entityManager.persist(toEntity(row.task(), users));
+                    stored.add(row.number());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            String cause = "Not imported, chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            stored.forEach(number -> errors.add(new TaskImportErrorDTO(number, cause)));
+            return 0;
+        }
+        return stored.size();
+    }
+
+    private Map<String, User> findUsers(List<ImportRow> chunk) {
+        Set<String> usernames = chunk.stream()
+                .flatMap(row -> usernames(row.task()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, User> users = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            userService.findAllByUsername(usernames).forEach(user -> users.put(user.getUsername(), user));
+        }
+        return users;
+    }
+
+    private String validate(TaskDTO task, Map<String, User> users) {
+        List<String> problems = new ArrayList<>();
+        validator.validate(task).stream().map(ConstraintViolation::getMessage).forEach(problems::add);
+        if (task.assignees() != null && task.assignees().stream().anyMatch(username -> username == null || username.isBlank())) {
+            problems.add("Assignee cannot be empty");
+        }
+        if (task.comments() != null) {
+            for (CommentDTO comment : task.comments()) {
+                validator.validate(comment).stream().map(ConstraintViolation::getMessage).forEach(problems::add);
+                if (comment.author() == null || comment.author().isBlank()) {
+                    problems.add("Comment author cannot be empty");
+                }
+            }
+        }
+        if (task.status() != null && !task.status().isEmpty()
+                && EnumParser.parseEnumOrNull(TaskStatus.class, task.status()) == null) {
+            problems.add("Invalid status: " + task.status());
+        }
+        if (task.priority() != null && !task.priority().isEmpty()
+                && EnumParser.parseEnumOrNull(TaskPriority.class, task.priority()) == null) {
+            problems.add("Invalid priority: " + task.priority());
+        }
+        List<String> missing = usernames(task)
+                .filter(username -> username != null && !username.isBlank() && !users.containsKey(username))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            problems.add("Users not found: " + String.join(", ", missing));
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private Task toEntity(TaskDTO dto, Map<String, User> users) {
+        Task task = new Task();
+        task.setTitle(dto.title());
+        task.setDescription(dto.description());
+        task.setStatus(EnumParser.parseEnum(TaskStatus.class, dto.status(), "status"));
+        task.setPriority(EnumParser.parseEnum(TaskPriority.class, dto.priority(), "priority"));
+        task.setAuthor(users.get(dto.author()));
+        if (dto.assignees() != null) {
+            dto.assignees().forEach(username -> task.getAssignees().add(users.get(username)));
+        }
+        if (dto.comments() != null) {
+            for (CommentDTO comment : dto.comments()) {
+                task.getComments().add(new Comment(null, comment.text(), task, users.get(comment.author())));
+            }
+        }
+        return task;
+    }
+
+    private static Stream<String> usernames(TaskDTO task) {
+        return Stream.of(
+                Stream.of(task.author()),
+                task.assignees() != null ? task.assignees().stream() : Stream.<String>empty(),
+                task.comments() != null ? task.comments().stream().map(CommentDTO::author) : Stream.<String>empty()
+        ).flatMap(stream -> stream);
+    }
+
+    private record ImportRow(long number, TaskDTO task) {
+    }
+}
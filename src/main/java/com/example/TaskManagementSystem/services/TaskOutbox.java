@@ -0,0 +1,75 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.models.OutboxEvent;
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
+import com.example.TaskManagementSystem.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records task changes in the outbox table. Must be called inside the transaction that makes
+ * the change, so an event exists exactly when the change was committed. Events are collected
+ * per transaction and stored right before commit, in one JDBC batch with the other pending
+ * inserts; a rolled back transaction never touches the outbox.
+ */
+@Service
+public class TaskOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public TaskOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param payload serialized to JSON right away, {@code null} for none
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TaskEventType type, Long taskId, Object payload) {
+        pendingEvents().events.add(new OutboxEvent(type, taskId, toJson(payload)));
+    }
+
+    private PendingEvents pendingEvents() {
+        // only synchronizations of the current transaction are visible, suspended ones are not
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event payload", e);
+        }
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // flushed by the commit together with the change
+            outboxEventRepository.saveAll(events);
+        }
+    }
+}
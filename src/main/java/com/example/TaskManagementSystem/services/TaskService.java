@@ -1,55 +1,150 @@
 package com.example.TaskManagementSystem.services;
 
 import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskChangeDTO;
 import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO.Outcome;
+import com.example.TaskManagementSystem.dto.TaskSummary;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.dto.Versioned;
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
 import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.exceptions.PreconditionFailedException;
 import com.example.TaskManagementSystem.mappers.CommentMapper;
 import com.example.TaskManagementSystem.mappers.TaskMapper;
 import com.example.TaskManagementSystem.models.Comment;
 import com.example.TaskManagementSystem.models.Task;
 import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
 import com.example.TaskManagementSystem.models.enums.TaskPriority;
 import com.example.TaskManagementSystem.models.enums.TaskStatus;
 import com.example.TaskManagementSystem.repositories.CommentRepository;
+import com.example.TaskManagementSystem.repositories.TaskAccess;
 import com.example.TaskManagementSystem.repositories.TaskRepository;
-import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.repositories.TaskRepositoryCustom;
+import com.example.TaskManagementSystem.repositories.TaskRepositoryCustom.SearchHit;
+import com.example.TaskManagementSystem.repositories.TaskSpecifications;
+import com.example.TaskManagementSystem.repositories.TaskTombstoneRepository;
+import com.example.TaskManagementSystem.util.EnumParser;
+import com.example.TaskManagementSystem.util.SearchCursor;
+import com.example.TaskManagementSystem.util.TaskCursor;
+import com.example.TaskManagementSystem.util.UserFinder;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 
+/**
+ * Every public method is timed as {@code task.service} with class, method and exception tags.
+ * Every mutation appends a {@link TaskEventType} event to the outbox in the caller's transaction.
+ */
 @Service
+@Timed(value = "task.service", description = "Task service calls")
 public class TaskService {
 
-    private final UserRepository userRepository;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_STATUS_CHANGES = 500;
+    public static final int MAX_LATEST_COMMENTS = 20;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    private final UserFinder userFinder;
     private final TaskRepository taskRepository;
     private final CommentRepository commentRepository;
     private final TaskMapper taskMapper;
     private final CommentMapper commentMapper;
+    private final TaskOutbox taskOutbox;
+    private final TaskTombstoneRepository taskTombstoneRepository;
 
-    public TaskService(UserRepository userRepository, TaskRepository taskRepository, CommentRepository commentRepository, TaskMapper taskMapper, CommentMapper commentMapper) {
-        this.userRepository = userRepository;
+    public TaskService(UserFinder userFinder, TaskRepository taskRepository, CommentRepository commentRepository, TaskMapper taskMapper, CommentMapper commentMapper,
+                       TaskOutbox taskOutbox, TaskTombstoneRepository taskTombstoneRepository) {
+        this.userFinder = userFinder;
         this.taskRepository = taskRepository;
         this.commentRepository = commentRepository;
         this.taskMapper = taskMapper;
         this.commentMapper = commentMapper;
+        this.taskOutbox = taskOutbox;
+        this.taskTombstoneRepository = taskTombstoneRepository;
     }
 
     @Transactional
     public TaskDTO create(TaskDTO taskDTO) {
         Task convertedTask =taskMapper.toEntity(taskDTO);
         convertedTask = taskRepository.save(convertedTask);
-        return taskMapper.toDTO(convertedTask);
+        TaskDTO created = taskMapper.toDTO(convertedTask);
+        taskOutbox.append(TaskEventType.CREATED, convertedTask.getId(), created);
+        return created;
     }
 
     @Transactional(readOnly = true)
-    public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(taskMapper::toDTO)
-                .toList();
+    public CursorPageDTO<TaskDTO> getTasksPage(TaskFilter filter, String cursor, int size, int latestComments) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        KeysetScrollPosition position = TaskCursor.decode(cursor);
+        Window<Task> window = taskRepository.findBy(TaskSpecifications.matching(filter),
+                query -> query.sortBy(TaskCursor.SORT)
+                        .project("author")
+                        .limit(limit)
+                        .scroll(position));
+
+        List<TaskDTO> items = toDTOs(window.getContent(), latestComments);
+        String nextCursor = window.hasNext() ? TaskCursor.encode(window.positionAt(window.size() - 1)) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskSummary> getTaskSummaries(String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Map<String, Object> keys = TaskCursor.decode(cursor).getKeys();
+        List<TaskSummary> rows = keys.isEmpty()
+                ? taskRepository.findSummaries(Limit.of(limit + 1))
+                : taskRepository.findSummariesAfter((LocalDateTime) keys.get("createdAt"), (Long) keys.get("id"), Limit.of(limit + 1));
+
+        if (rows.size() <= limit) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<TaskSummary> items = rows.subList(0, limit);
+        TaskSummary last = items.get(limit - 1);
+        return new CursorPageDTO<>(items, TaskCursor.encode(last.createdAt(), last.id()));
+    }
+
+    /**
+     * Same paging as {@link #getTaskSummaries}; the page of ids comes from the "my tasks" UNION,
+     * the summaries for them from one more query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskSummary> getTaskSummariesForUser(Long userId, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Long> ids = taskRepository.findIdsForUser(userId, TaskCursor.decode(cursor), Sort.Direction.ASC, limit + 1);
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        Map<Long, TaskSummary> summaries = taskRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskSummary::id, Function.identity()));
+        List<TaskSummary> items = ids.stream().map(summaries::get).toList();
+        TaskSummary last = items.get(items.size() - 1);
+        return new CursorPageDTO<>(items, hasNext ? TaskCursor.encode(last.createdAt(), last.id()) : null);
     }
 
     @Transactional(readOnly = true)
@@ -59,78 +154,367 @@ public class TaskService {
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
     }
 
+    /**
+     * Users who lose the task, as author or assignee, get a tombstone so their next delta sync
+     * drops it; users who get it back lose theirs.
+     *
+     * @param expectedVersion version from {@code If-Match}, or {@code null} to overwrite unconditionally
+     */
     @Transactional
-    public TaskDTO update(Long id, TaskDTO taskDTO) {
+    public Versioned<TaskDTO> update(Long id, TaskDTO taskDTO, Long expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+        checkVersion(task, expectedVersion);
+        Set<Long> before = visibleTo(task);
         taskMapper.updateTaskFromDto(taskDTO, task);
-        task = taskRepository.save(task);
-        return taskMapper.toDTO(task);
+        Set<Long> after = visibleTo(task);
+        Versioned<TaskDTO> updated = versioned(taskRepository.saveAndFlush(task));
+
+        Set<Long> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        Set<Long> changed = new HashSet<>(after);
+        changed.removeAll(before);
+        changed.addAll(removed);
+        if (!changed.isEmpty()) {
+            taskTombstoneRepository.deleteForUsers(id, changed);
+        }
+        if (!removed.isEmpty()) {
+            taskTombstoneRepository.insertForUsers(id, removed, LocalDateTime.now());
+        }
+        taskOutbox.append(TaskEventType.UPDATED, id, updated);
+        return updated;
     }
 
+    /**
+     * Deletes the task and leaves a tombstone for its author and assignees, so their next
+     * delta sync drops it.
+     */
     @Transactional
     public void delete(Long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            taskTombstoneRepository.insertForTask(id, LocalDateTime.now());
+            taskRepository.delete(task);
+            taskOutbox.append(TaskEventType.DELETED, id, null);
+        });
     }
 
+    /**
+     * Updates the status with a single conditional UPDATE; the task is only loaded afterwards
+     * for the response.
+     */
     @Transactional
-    public TaskDTO changeStatus(Long id, String status) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        task.setStatus(TaskStatus.valueOf(status.toUpperCase()));
+    public Versioned<TaskDTO> changeStatus(Long id, String status, Long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus value = updateStatus(id, status, expectedVersion, now);
+        Versioned<TaskDTO> changed = getVersionedById(id);
+        taskOutbox.append(TaskEventType.STATUS_CHANGED, id,
+                new Versioned<>(new TaskChangeDTO(id, value, null, now), changed.version()));
+        return changed;
+    }
 
-        return taskMapper.toDTO(taskRepository.save(task));
+    /**
+     * Like {@link #changeStatus} but answers with the written fields only. With an expected
+     * version this is the UPDATE alone, otherwise one more primary-key read for the new version.
+     */
+    @Transactional
+    public Versioned<TaskChangeDTO> changeStatusMinimal(Long id, String status, Long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus value = updateStatus(id, status, expectedVersion, now);
+        Versioned<TaskChangeDTO> changed = new Versioned<>(new TaskChangeDTO(id, value, null, now), versionAfterUpdate(id, expectedVersion));
+        taskOutbox.append(TaskEventType.STATUS_CHANGED, id, changed);
+        return changed;
     }
 
     @Transactional
-    public TaskDTO changePriority(Long id, String priority) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        task.setPriority(TaskPriority.valueOf(priority.toUpperCase()));
-        return taskMapper.toDTO(taskRepository.save(task));
+    public Versioned<TaskDTO> changePriority(Long id, String priority, Long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskPriority value = updatePriority(id, priority, expectedVersion, now);
+        Versioned<TaskDTO> changed = getVersionedById(id);
+        taskOutbox.append(TaskEventType.PRIORITY_CHANGED, id,
+                new Versioned<>(new TaskChangeDTO(id, null, value, now), changed.version()));
+        return changed;
+    }
+
+    @Transactional
+    public Versioned<TaskChangeDTO> changePriorityMinimal(Long id, String priority, Long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskPriority value = updatePriority(id, priority, expectedVersion, now);
+        Versioned<TaskChangeDTO> changed = new Versioned<>(new TaskChangeDTO(id, null, value, now), versionAfterUpdate(id, expectedVersion));
+        taskOutbox.append(TaskEventType.PRIORITY_CHANGED, id, changed);
+        return changed;
     }
 
+    /**
+     * Moves many tasks at once: one query loads version and access for all ids, one JDBC batch
+     * writes the changes. Every change is reported separately, in request order; a failed item
+     * does not stop the others.
+     *
+     * @param userId the user whose access is checked, or {@code null} for admins
+     */
     @Transactional
-    public TaskDTO assignUser(Long taskId, String username) {
+    public List<TaskStatusChangeResultDTO> changeStatuses(List<TaskStatusChangeDTO> changes, Long userId) {
+        if (changes.size() > MAX_STATUS_CHANGES) {
+            throw new BadRequestException("At most " + MAX_STATUS_CHANGES + " status changes per request");
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<Long> duplicates = new HashSet<>();
+        for (TaskStatusChangeDTO change : changes) {
+            if (change.id() != null && !ids.add(change.id())) {
+                duplicates.add(change.id());
+            }
+        }
+        Map<Long, TaskAccess> access = (userId == null
+                ? taskRepository.findAccessByIdIn(ids)
+                : taskRepository.findAccessByIdIn(ids, userId)).stream()
+                .collect(Collectors.toMap(TaskAccess::id, Function.identity()));
+
+        TaskStatusChangeResultDTO[] results = new TaskStatusChangeResultDTO[changes.size()];
+        List<TaskRepositoryCustom.StatusUpdate> updates = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            TaskStatusChangeDTO change = changes.get(i);
+            TaskStatus status = EnumParser.parseEnumOrNull(TaskStatus.class, change.status());
+            TaskAccess task = access.get(change.id());
+            Outcome failure = status == null || duplicates.contains(change.id()) ? Outcome.INVALID
+                    : task == null ? Outcome.NOT_FOUND
+                    : !task.accessible() ? Outcome.FORBIDDEN
+                    : change.version() != null && !change.version().equals(task.version()) ? Outcome.VERSION_CONFLICT
+                    : null;
+            if (failure != null) {
+                results[i] = TaskStatusChangeResultDTO.failed(change.id(), failure);
+            } else {
+                updates.add(new TaskRepositoryCustom.StatusUpdate(task.id(), status, task.version()));
+                positions.add(i);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            int[] counts = taskRepository.updateStatuses(updates, now);
+            for (int u = 0; u < updates.size(); u++) {
+                TaskRepositoryCustom.StatusUpdate update = updates.get(u);
+                // a concurrent edit between our read and the batch leaves the row untouched
+                if (counts[u] == 0) {
+                    results[positions.get(u)] = TaskStatusChangeResultDTO.failed(update.id(), Outcome.VERSION_CONFLICT);
+                    continue;
+                }
+                results[positions.get(u)] = new TaskStatusChangeResultDTO(update.id(), Outcome.UPDATED, update.version() + 1);
+                taskOutbox.append(TaskEventType.STATUS_CHANGED, update.id(),
+                        new Versioned<>(new TaskChangeDTO(update.id(), update.status(), null, now), update.version() + 1));
+            }
+        }
+        return List.of(results);
+    }
+
+    @Transactional
+    public Versioned<TaskDTO> assignUser(Long taskId, String username, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        checkVersion(task, expectedVersion);
+        User user = userFinder.referenceByUsername(username);
         task.getAssignees().add(user);
-        return taskMapper.toDTO(taskRepository.save(task));
+        // the assignee row is not a column of the task, mark the change for the delta sync
+        task.setUpdatedAt(LocalDateTime.now());
+        Versioned<TaskDTO> assigned = versioned(taskRepository.saveAndFlush(task));
+        // a user removed from the task earlier sees it again
+        taskTombstoneRepository.deleteForUsers(taskId, Set.of(user.getId()));
+        taskOutbox.append(TaskEventType.ASSIGNEE_ADDED, taskId, assigned);
+        return assigned;
     }
 
+    /**
+     * Adds the comment and bumps the task's {@code updatedAt}, not its version, so the delta
+     * sync picks the task up while its ETag stays valid.
+     */
     @Transactional
     public CommentDTO addComment(Long taskId, CommentDTO commentDTO, String authorUsername) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        User author = userRepository.findByUsername(authorUsername)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (taskRepository.touch(taskId, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException("Task not found");
+        }
+        Task task = taskRepository.getReferenceById(taskId);
+        User author = userFinder.referenceByUsername(authorUsername);
 
         Comment comment = commentMapper.toEntity(commentDTO);
         comment.setTask(task);
         comment.setAuthor(author);
         comment = commentRepository.save(comment);
 
-        return commentMapper.toDto(comment);
+        CommentDTO added = commentMapper.toDto(comment);
+        taskOutbox.append(TaskEventType.COMMENT_ADDED, taskId, added);
+        return added;
     }
 
     @Transactional(readOnly = true)
-    public List<TaskDTO> getTasksForUser(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        return taskRepository.findByAuthorOrAssigneesContains(user).stream()
-                .map(taskMapper::toDTO)
-                .toList();
+    public CursorPageDTO<TaskDTO> getTasksForUser(Long userId, String cursor, int size, Sort.Direction direction,
+                                                  int latestComments) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Long> ids = taskRepository.findIdsForUser(userId, TaskCursor.decode(cursor), direction, limit + 1);
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        Map<Long, Task> tasks = taskRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskDTO> items = toDTOs(ids.stream().map(tasks::get).toList(), latestComments);
+        Task last = tasks.get(ids.get(ids.size() - 1));
+        return new CursorPageDTO<>(items, hasNext ? TaskCursor.encode(last.getCreatedAt(), last.getId()) : null);
+    }
+
+    /**
+     * One page of tasks matching the full-text query, best match first.
+     *
+     * @param userId restricts the results to tasks the user authored or is assigned to,
+     *               {@code null} searches all tasks
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> search(String query, Long userId, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<SearchHit> hits = taskRepository.search(query.strip(), userId, SearchCursor.decode(cursor), limit + 1);
+        boolean hasNext = hits.size() > limit;
+        if (hasNext) {
+            hits = hits.subList(0, limit);
+        }
+        if (hits.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        Map<Long, Task> tasks = taskRepository.findByIdIn(hits.stream().map(SearchHit::id).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskDTO> items = toDTOs(hits.stream().map(hit -> tasks.get(hit.id())).toList(), 0);
+        return new CursorPageDTO<>(items, hasNext ? SearchCursor.encode(hits.get(hits.size() - 1)) : null);
+    }
+
+    /**
+     * Loads the task only if the user authored it or is assigned to it, in the same query.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<TaskDTO> getAccessibleById(Long taskId, Long userId, int latestComments) {
+        return taskRepository.findAccessibleById(taskId, userId)
+                .map(task -> new Versioned<>(toDTOs(List.of(task), latestComments).get(0), task.getVersion()))
+                .orElseThrow(() -> accessFailure(taskId, "You can't view this task"));
+    }
+
+    /**
+     * One keyset page of a task's comments, oldest first.
+     *
+     * @param userId the user whose access is checked, or {@code null} for admins
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> getComments(Long taskId, Long userId, String cursor, int size) {
+        if (userId != null) {
+            checkTaskAccess(taskId, userId);
+        } else if (!taskRepository.existsById(taskId)) {
+            throw new EntityNotFoundException("Task not found");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Map<String, Object> keys = TaskCursor.decode(cursor).getKeys();
+        List<Comment> rows = keys.isEmpty()
+                ? commentRepository.findPage(taskId, Limit.of(limit + 1))
+                : commentRepository.findPageAfter(taskId, (LocalDateTime) keys.get("createdAt"), (Long) keys.get("id"), Limit.of(limit + 1));
+
+        boolean hasNext = rows.size() > limit;
+        List<Comment> page = hasNext ? rows.subList(0, limit) : rows;
+        List<CommentDTO> items = page.stream().map(commentMapper::toDto).toList();
+        Comment last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return new CursorPageDTO<>(items, hasNext ? TaskCursor.encode(last.getCreatedAt(), last.getId()) : null);
     }
 
-    public void checkTaskAccess(Long taskId, String username) {
-        TaskDTO task = getById(taskId);
-        if (!task.author().equals(username) && !task.assignees().contains(username)) {
-            throw new AccessDeniedException("You can't modify this task");
+    @Transactional(readOnly = true)
+    public void checkTaskAccess(Long taskId, Long userId) {
+        if (!taskRepository.isAccessibleBy(taskId, userId)) {
+            throw accessFailure(taskId, "You can't modify this task");
         }
     }
 
+    /**
+     * Maps tasks in order and attaches up to {@code latestComments} newest comments per task,
+     * fetched for all tasks with one query.
+     */
+    private List<TaskDTO> toDTOs(List<Task> tasks, int latestComments) {
+        List<TaskDTO> dtos = tasks.stream().map(taskMapper::toDTO).toList();
+        int limit = Math.min(latestComments, MAX_LATEST_COMMENTS);
+        if (limit <= 0 || tasks.isEmpty()) {
+            return dtos;
+        }
+        Map<Long, List<CommentDTO>> latest = commentRepository
+                .findLatestByTaskIdIn(tasks.stream().map(Task::getId).toList(), limit).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getTask().getId(),
+                        Collectors.mapping(commentMapper::toDto, Collectors.toList())));
+        List<TaskDTO> result = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            result.add(dtos.get(i).withComments(latest.getOrDefault(tasks.get(i).getId(), List.of())));
+        }
+        return result;
+    }
 
+    private static Set<Long> visibleTo(Task task) {
+        Set<Long> users = new HashSet<>();
+        if (task.getAuthor() != null) {
+            users.add(task.getAuthor().getId());
+        }
+        task.getAssignees().forEach(assignee -> users.add(assignee.getId()));
+        return users;
+    }
 
+    private TaskStatus updateStatus(Long id, String status, Long expectedVersion, LocalDateTime now) {
+        TaskStatus value = EnumParser.parseEnum(TaskStatus.class, status, "status");
+        if (taskRepository.updateStatus(id, value, expectedVersion, now) == 0) {
+            throw updateFailure(id);
+        }
+        return value;
+    }
+
+    private TaskPriority updatePriority(Long id, String priority, Long expectedVersion, LocalDateTime now) {
+        TaskPriority value = EnumParser.parseEnum(TaskPriority.class, priority, "priority");
+        if (taskRepository.updatePriority(id, value, expectedVersion, now) == 0) {
+            throw updateFailure(id);
+        }
+        return value;
+    }
+
+    private long versionAfterUpdate(Long id, Long expectedVersion) {
+        if (expectedVersion != null) {
+            return expectedVersion + 1;
+        }
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+    }
+
+    private Versioned<TaskDTO> getVersionedById(Long id) {
+        return taskRepository.findById(id)
+                .map(this::versioned)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+    }
+
+    private Versioned<TaskDTO> versioned(Task task) {
+        return new Versioned<>(taskMapper.toDTO(task), task.getVersion());
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task was modified, current version is " + task.getVersion());
+        }
+    }
+
+    private RuntimeException updateFailure(Long taskId) {
+        return taskRepository.existsById(taskId)
+                ? new PreconditionFailedException("Task was modified, reload it and retry")
+                : new EntityNotFoundException("Task not found");
+    }
+
+    private RuntimeException accessFailure(Long taskId, String message) {
+        return taskRepository.existsById(taskId)
+                ? new AccessDeniedException(message)
+                : new EntityNotFoundException("Task not found");
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.TaskDeltaDTO;
+import com.example.TaskManagementSystem.dto.TaskDeltaDTO.ChangedTask;
+import com.example.TaskManagementSystem.mappers.TaskMapper;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.TaskTombstone;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.TaskTombstoneRepository;
+import com.example.TaskManagementSystem.util.SyncWatermark;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync of a user's tasks: everything created, changed or deleted since the client's
+ * {@link SyncWatermark}.
+ * <p>
+ * Changes are only reported once they are {@code tasks.sync.lag} old. {@code updatedAt} is taken
+ * before commit, so a transaction that commits after a client read past its timestamp would
+ * otherwise be missed for good; the lag has to cover the longest write transaction.
+ */
+@Service
+@Timed(value = "task.service", description = "Task service calls")
+public class TaskSyncService {
+
+    public static final int MAX_PAGE_SIZE = TaskService.MAX_PAGE_SIZE;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskMapper taskMapper;
+    private final Duration lag;
+
+    public TaskSyncService(TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                           TaskMapper taskMapper, @Value("${tasks.sync.lag:2s}") Duration lag) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskMapper = taskMapper;
+        this.lag = lag;
+    }
+
+    /**
+     * Up to {@code size} changed tasks and up to {@code size} deletions the user has not seen yet.
+     *
+     * @param since watermark of the previous call, {@code null} or blank for a full sync
+     */
+    @Transactional(readOnly = true)
+    public TaskDeltaDTO getChangesForUser(Long userId, String since, int size) {
+        SyncWatermark from = SyncWatermark.decode(since);
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime upTo = LocalDateTime.now().minus(lag);
+
+        List<Long> ids = taskRepository.findChangedIdsForUser(userId, from.changedAt(), from.changedId(), upTo,
+                Limit.of(limit + 1));
+        boolean moreChanged = ids.size() > limit;
+        if (moreChanged) {
+            ids = ids.subList(0, limit);
+        }
+        List<TaskTombstone> tombstones = taskTombstoneRepository.findForUserAfter(userId, from.deletedAt(),
+                from.deletedId(), upTo, Limit.of(limit + 1));
+        boolean moreDeleted = tombstones.size() > limit;
+        if (moreDeleted) {
+            tombstones = tombstones.subList(0, limit);
+        }
+
+        List<ChangedTask> changed = List.of();
+        LocalDateTime changedAt = upTo;
+        long changedId = Long.MAX_VALUE;
+        if (!ids.isEmpty()) {
+            Map<Long, Task> tasks = taskRepository.findByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            changed = ids.stream()
+                    .map(tasks::get)
+                    .map(task -> new ChangedTask(task.getId(), task.getVersion(), task.getUpdatedAt(), taskMapper.toDTO(task)))
+                    .toList();
+            if (moreChanged) {
+                ChangedTask last = changed.get(changed.size() - 1);
+                changedAt = last.updatedAt();
+                changedId = last.id();
+            }
+        }
+
+        LocalDateTime deletedAt = upTo;
+        long deletedId = Long.MAX_VALUE;
+        if (moreDeleted) {
+            TaskTombstone last = tombstones.get(tombstones.size() - 1);
+            deletedAt = last.getDeletedAt();
+            deletedId = last.getTaskId();
+        }
+
+        // never move backwards, e.g. after the lag was raised
+        if (isBefore(changedAt, changedId, from.changedAt(), from.changedId())) {
+            changedAt = from.changedAt();
+            changedId = from.changedId();
+        }
+        if (isBefore(deletedAt, deletedId, from.deletedAt(), from.deletedId())) {
+            deletedAt = from.deletedAt();
+            deletedId = from.deletedId();
+        }
+
+        SyncWatermark next = new SyncWatermark(changedAt, changedId, deletedAt, deletedId);
+        return new TaskDeltaDTO(changed, tombstones.stream().map(TaskTombstone::getTaskId).toList(),
+                next.encode(), moreChanged || moreDeleted);
+    }
+
+    private static boolean isBefore(LocalDateTime time, long id, LocalDateTime otherTime, long otherId) {
+        int byTime = time.compareTo(otherTime);
+        return byTime < 0 || byTime == 0 && id < otherId;
+    }
+}
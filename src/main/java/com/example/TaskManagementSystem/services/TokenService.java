@@ -0,0 +1,80 @@
+package com.example.TaskManagementSystem.services;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PrincipalCache;
+import com.example.TaskManagementSystem.security.TokenPair;
+import com.example.TaskManagementSystem.security.TokenRevokedException;
+import com.example.TaskManagementSystem.security.VerifiedToken;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Issues access and refresh tokens and revokes them by bumping the user's token version.
+ * Refreshing costs an HMAC check and a token version lookup, the password hash is not involved.
+ */
+@Service
+public class TokenService {
+
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final UserRepository userRepository;
+
+    public TokenService(JwtUtil jwtUtil, PrincipalCache principalCache, UserRepository userRepository) {
+        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.userRepository = userRepository;
+    }
+
+    public TokenPair issue(User user) {
+        return new TokenPair(
+                jwtUtil.generateAccessToken(user.getEmail(), user.getTokenVersion()),
+                jwtUtil.generateRefreshToken(user.getEmail(), user.getTokenVersion()));
+    }
+
+    public TokenPair refresh(String refreshToken) throws JWTVerificationException {
+        VerifiedToken verified = jwtUtil.verifyRefreshToken(refreshToken);
+        long tokenVersion = checkNotRevoked(verified);
+        return new TokenPair(
+                jwtUtil.generateAccessToken(verified.email(), tokenVersion),
+                jwtUtil.generateRefreshToken(verified.email(), tokenVersion));
+    }
+
+    /**
+     * Rejects a token issued before the user's last revocation. The version is read from the
+     * database on every call, never from a cache, so it holds on every instance.
+     *
+     * @return the user's current token version
+     */
+    public long checkNotRevoked(VerifiedToken verified) throws JWTVerificationException {
+        long tokenVersion = userRepository.findTokenVersion(verified.email())
+                .orElseThrow(() -> new JWTVerificationException("User of the token no longer exists"));
+        if (verified.isRevoked(tokenVersion)) {
+            throw new TokenRevokedException("The Token has been revoked.");
+        }
+        return tokenVersion;
+    }
+
+    /**
+     * Revokes every access and refresh token issued to the user so far, on every instance with
+     * the next request, see {@link #checkNotRevoked}.
+     */
+    @Transactional
+    public void revokeAll(String email) {
+        userRepository.incrementTokenVersion(email);
+        principalCache.invalidate(email);
+        // a request loading the principal before commit would cache the old version again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(email);
+                }
+            });
+        }
+    }
+}
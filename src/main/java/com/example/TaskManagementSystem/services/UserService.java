@@ -1,11 +1,16 @@
 package com.example.TaskManagementSystem.services;
 
 import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.repositories.UserIdentity;
 import com.example.TaskManagementSystem.repositories.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,4 +29,13 @@ public class UserService {
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
+
+    public List<User> findAllByUsername(Collection<String> usernames) {
+        return userRepository.findByUsernameIn(usernames);
+    }
+
+    public Map<String, Long> findIdsByUsername(Collection<String> usernames) {
+        return userRepository.findIdentitiesByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(UserIdentity::username, UserIdentity::id));
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.TaskManagementSystem.util;
+
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Case-insensitive parsing of enum values taken from requests.
+ */
+public final class EnumParser {
+
+    private EnumParser() {
+    }
+
+    /**
+     * @param name the parameter name used in the error message
+     * @throws BadRequestException if the value is missing or not a constant of {@code type}
+     */
+    public static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        E parsed = parseEnumOrNull(type, value);
+        if (parsed == null) {
+            throw new BadRequestException("Invalid " + name + " value");
+        }
+        return parsed;
+    }
+
+    /**
+     * @return the constant, or {@code null} if the value is missing or not a constant of {@code type}
+     */
+    public static <E extends Enum<E>> E parseEnumOrNull(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
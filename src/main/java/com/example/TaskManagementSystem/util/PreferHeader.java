@@ -0,0 +1,36 @@
+package com.example.TaskManagementSystem.util;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The {@code return=minimal} preference of RFC 7240.
+ */
+public final class PreferHeader {
+
+    public static final String PREFER = "Prefer";
+    public static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    private static final String RETURN_MINIMAL = "return=minimal";
+
+    private PreferHeader() {
+    }
+
+    public static boolean isReturnMinimal(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RETURN_MINIMAL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> minimal(ResponseEntity<T> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                .body(response.getBody());
+    }
+}
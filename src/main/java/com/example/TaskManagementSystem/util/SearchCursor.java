@@ -0,0 +1,42 @@
+package com.example.TaskManagementSystem.util;
+
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
+import com.example.TaskManagementSystem.repositories.TaskRepositoryCustom.SearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for search results ordered by {@code (rank DESC, id DESC)}.
+ * The rank is written with {@link Double#toString(double)}, which parses back to the same value,
+ * so the next page continues exactly after the last hit.
+ */
+public final class SearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private SearchCursor() {
+    }
+
+    public static String encode(SearchHit hit) {
+        String raw = hit.rank() + SEPARATOR + hit.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the last hit of the previous page, or {@code null} for the first page
+     */
+    public static SearchHit decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SearchHit(Long.parseLong(raw.substring(separator + 1)),
+                    Double.parseDouble(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
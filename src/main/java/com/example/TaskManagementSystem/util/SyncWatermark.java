@@ -0,0 +1,42 @@
+package com.example.TaskManagementSystem.util;
+
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position of a client in the task change feed: the last seen {@code (updatedAt, id)}
+ * of changed tasks and {@code (deletedAt, taskId)} of tombstones.
+ */
+public record SyncWatermark(LocalDateTime changedAt, long changedId, LocalDateTime deletedAt, long deletedId) {
+
+    public static final SyncWatermark START = new SyncWatermark(
+            LocalDateTime.of(1970, 1, 1, 0, 0), 0, LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = changedAt + SEPARATOR + changedId + SEPARATOR + deletedAt + SEPARATOR + deletedId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param watermark a value returned by {@link #encode()}, {@code null} or blank for a full sync
+     */
+    public static SyncWatermark decode(String watermark) {
+        if (watermark == null || watermark.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            return new SyncWatermark(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]),
+                    LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid watermark");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.TaskManagementSystem.util;
+
+import com.example.TaskManagementSystem.dto.Versioned;
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Maps the task {@code @Version} to a strong {@code ETag} and back from {@code If-Match}.
+ */
+public final class TaskETag {
+
+    private TaskETag() {
+    }
+
+    public static <T> ResponseEntity<T> ok(Versioned<T> versioned) {
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(versioned.version()))
+                .body(versioned.body());
+    }
+
+    /**
+     * @return the expected version, or {@code null} when the header is absent or {@code *}
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new BadRequestException("Invalid If-Match header");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid If-Match header");
+        }
+    }
+}
@@ -3,18 +3,128 @@ package com.example.TaskManagementSystem.util;
 import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
 import com.example.TaskManagementSystem.models.User;
 import com.example.TaskManagementSystem.services.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Component
 public class UserFinder {
 
     private final UserService userService;
+    private final EntityManager entityManager;
+    // usernames are never changed by the application, so a resolved id stays valid
+    private final Cache<String, Long> userIds;
 
-    public UserFinder(UserService userService) {
+    public UserFinder(UserService userService, EntityManager entityManager,
+                      @Value("${user-finder.id-cache.maximum-size:50000}") long maximumSize,
+                      @Value("${user-finder.id-cache.ttl:1h}") Duration ttl) {
         this.userService = userService;
+        this.entityManager = entityManager;
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
     }
 
     public User findByUsername(String username) {
         return userService.findByUsername(username).orElseThrow(() -> new EntityNotFoundException("User not found: " + username));
     }
+
+    /**
+     * Resolves all usernames with a single query. Every username that does not exist is
+     * reported together in one {@link EntityNotFoundException}.
+     */
+    public Map<String, User> findAllByUsername(Collection<String> usernames) {
+        Set<String> wanted = new LinkedHashSet<>(usernames);
+        if (wanted.isEmpty()) {
+            return Map.of();
+        }
+        List<String> lookup = wanted.stream().filter(Objects::nonNull).toList();
+        Map<String, User> found = new HashMap<>();
+        if (!lookup.isEmpty()) {
+            userService.findAllByUsername(lookup).forEach(user -> found.put(user.getUsername(), user));
+        }
+        checkAllFound(wanted, found.keySet());
+        return found;
+    }
+
+    /**
+     * An uninitialized reference to the user, for setting associations without loading the row.
+     * Must be called inside a transaction.
+     */
+    public User referenceByUsername(String username) {
+        return referencesByUsername(Collections.singletonList(username)).get(username);
+    }
+
+    /**
+     * Like {@link #findAllByUsername(Collection)}, but returns references. Ids of known
+     * usernames come from memory, the rest are resolved with one query.
+     */
+    public Map<String, User> referencesByUsername(Collection<String> usernames) {
+        Set<String> wanted = new LinkedHashSet<>(usernames);
+        if (wanted.isEmpty()) {
+            return Map.of();
+        }
+        List<String> lookup = wanted.stream().filter(Objects::nonNull).toList();
+        Map<String, Long> ids = new HashMap<>(userIds.getAllPresent(lookup));
+        List<String> unresolved = lookup.stream().filter(username -> !ids.containsKey(username)).toList();
+        if (!unresolved.isEmpty()) {
+            Map<String, Long> resolved = userService.findIdsByUsername(unresolved);
+            ids.putAll(resolved);
+            remember(resolved);
+        }
+        checkAllFound(wanted, ids.keySet());
+
+        Map<String, User> references = new HashMap<>();
+        ids.forEach((username, id) -> references.put(username, entityManager.getReference(User.class, id)));
+        return references;
+    }
+
+    public void invalidate(String username) {
+        userIds.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        userIds.invalidateAll();
+    }
+
+    private void remember(Map<String, Long> resolved) {
+        if (resolved.isEmpty()) {
+            return;
+        }
+        // a user inserted by the surrounding transaction must not be remembered if it rolls back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userIds.putAll(resolved);
+                }
+            });
+        } else {
+            userIds.putAll(resolved);
+        }
+    }
+
+    private static void checkAllFound(Set<String> wanted, Set<String> found) {
+        List<String> missing = wanted.stream().filter(username -> !found.contains(username)).toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(missing.size() == 1
+                    ? "User not found: " + missing.get(0)
+                    : "Users not found: " + String.join(", ", missing));
+        }
+    }
 }
@@ -1,8 +1,7 @@
 package com.example.TaskManagementSystem.util;
 
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.services.DefaultUserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.example.TaskManagementSystem.services.UserService;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
@@ -10,10 +9,10 @@ import org.springframework.validation.Validator;
 @Component
 public class UserValidator implements Validator {
 
-    private final DefaultUserDetailsService userDetailsService;
+    private final UserService userService;
 
-    public UserValidator(DefaultUserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public UserValidator(UserService userService) {
+        this.userService = userService;
     }
 
     @Override
@@ -25,12 +24,9 @@ public class UserValidator implements Validator {
     public void validate(Object target, Errors errors) {
         User user = (User) target;
 
-        try {
-            userDetailsService.loadUserByUsername(user.getUsername());
-        } catch (UsernameNotFoundException ignored) {
-            return;
+        // usernames identify authors and assignees in the API and are unique in the database
+        if (userService.findByUsername(user.getUsername()).isPresent()) {
+            errors.rejectValue("username", "username.taken", "Username is already taken");
         }
-
-        errors.rejectValue("username", "username is required");
     }
 }
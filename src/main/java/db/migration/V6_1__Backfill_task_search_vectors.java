@@ -0,0 +1,66 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Fills the search vectors of the tasks and comments that existed before V6. Rewriting the
+ * text column fires the V6 triggers, which compute the vector.
+ * Runs outside a transaction and commits every id range of {@link #BATCH_SIZE} rows on its own,
+ * so row locks are held for one batch only, readers and writers are never blocked for the whole
+ * table, and autovacuum can reclaim the old row versions while the backfill is still running.
+ * V7 builds the GIN indexes afterwards, over filled columns.
+ */
+public class V6_1__Backfill_task_search_vectors extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try {
+            backfill(connection, "tasks", "title");
+            backfill(connection, "comments", "text");
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void backfill(Connection connection, String table, String column) throws SQLException {
+        long min;
+        long max;
+        try (Statement statement = connection.createStatement();
+             ResultSet range = statement.executeQuery("SELECT MIN(id), MAX(id) FROM " + table)) {
+            range.next();
+            min = range.getLong(1);
+            if (range.wasNull()) {
+                return;
+            }
+            max = range.getLong(2);
+        }
+
+        // rows a rerun or the trigger already filled are skipped
+        String sql = "UPDATE " + table + " SET " + column + " = " + column
+                + " WHERE id >= ? AND id < ? AND search_vector IS NULL";
+        try (PreparedStatement update = connection.prepareStatement(sql)) {
+            for (long from = min; from <= max; from += BATCH_SIZE) {
+                update.setLong(1, from);
+                update.setLong(2, from + BATCH_SIZE);
+                update.executeUpdate();
+            }
+        }
+    }
+}
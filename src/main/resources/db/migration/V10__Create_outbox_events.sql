@@ -0,0 +1,12 @@
+-- Transactional outbox for task changes. Rows are inserted together with the change and
+-- deleted by OutboxRelay once published, so the table stays small.
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY,
+    type VARCHAR(40) NOT NULL,
+    task_id BIGINT NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
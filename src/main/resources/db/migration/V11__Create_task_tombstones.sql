@@ -0,0 +1,12 @@
+-- Deleted tasks leave one row per user who could see them, so GET /api/tasks?since= can tell
+-- clients which tasks to drop. Rows are keyed the way the delta query reads them:
+-- per user, in (deleted_at, task_id) order.
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    task_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (task_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_deleted_at ON task_tombstones (user_id, deleted_at, task_id);
@@ -0,0 +1,4 @@
+-- The delta endpoint walks tasks in (updated_at, id) order from the client's watermark.
+-- Only CONCURRENTLY statements here, so Flyway runs the script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
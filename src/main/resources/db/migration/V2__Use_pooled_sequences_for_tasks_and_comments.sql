@@ -0,0 +1,12 @@
+-- Hibernate cannot batch inserts into IDENTITY columns, so tasks and comments move to
+-- sequences with an increment matching the entity allocationSize (50).
+
+CREATE SEQUENCE tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks));
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS tasks_id_seq;
+
+CREATE SEQUENCE comments_seq INCREMENT BY 50;
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM comments));
+ALTER TABLE comments ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS comments_id_seq;
@@ -0,0 +1,11 @@
+-- "My tasks" is the union of authored and assigned tasks. Both halves get an index that
+-- starts with the user: task_assignees only had the (task_id, user_id) primary key, and the
+-- author index is widened with the (created_at, id) pagination key.
+-- Only CONCURRENTLY statements here, so Flyway runs the script outside a transaction and
+-- writes to the tables are not blocked while the indexes build.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_assignees_user_id ON task_assignees (user_id, task_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_author_created_at ON tasks (author_id, created_at, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_author_id;
@@ -0,0 +1,4 @@
+-- Optimistic locking for concurrent task edits. A constant default does not rewrite the
+-- table on PostgreSQL 11+, existing tasks start at version 0.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- Comments are read per task in (created_at, id) order, both for keyset pages and for the
+-- latest comments shown with a task. The new index serves both and the comment count;
+-- the plain task_id index becomes redundant.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_task_created_at ON comments (task_id, created_at, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_comments_task_id;
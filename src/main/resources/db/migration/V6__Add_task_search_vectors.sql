@@ -0,0 +1,35 @@
+-- Full-text search over task titles, descriptions and comments. The vectors are kept in
+-- plain columns maintained by triggers rather than generated columns, so adding them does
+-- not rewrite the tables under an exclusive lock. Existing rows are filled in by
+-- V6_1__Backfill_task_search_vectors in small committed batches, not in this transaction.
+-- The 'simple' configuration does not stem, task texts are not in a single language.
+-- Title words weigh A, description B and comments C, which is what ts_rank ranks by.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION tasks_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'B');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION comments_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := setweight(to_tsvector('simple', coalesce(NEW.text, '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tasks_search_vector ON tasks;
+CREATE TRIGGER tasks_search_vector
+    BEFORE INSERT OR UPDATE OF title, description ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_search_vector_update();
+
+DROP TRIGGER IF EXISTS comments_search_vector ON comments;
+CREATE TRIGGER comments_search_vector
+    BEFORE INSERT OR UPDATE OF text ON comments
+    FOR EACH ROW EXECUTE FUNCTION comments_search_vector_update();
@@ -0,0 +1,6 @@
+-- GIN indexes for the @@ matches of the task search. Only CONCURRENTLY statements here,
+-- so Flyway runs the script outside a transaction and writes are not blocked meanwhile.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_search_vector ON comments USING GIN (search_vector);
@@ -0,0 +1,7 @@
+-- Users are looked up by username whenever a task or comment names its author or assignees,
+-- and there was no index on the column. Usernames identify users in the API, so the index is
+-- unique; building it fails if duplicates exist, they have to be renamed and the invalid
+-- index dropped before the migration is retried.
+-- Only CONCURRENTLY statements here, so Flyway runs the script outside a transaction.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username ON users (username);
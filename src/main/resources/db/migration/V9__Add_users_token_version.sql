@@ -0,0 +1,5 @@
+-- Versioned token revocation: every token carries the version it was issued with and is
+-- rejected once the user's version is higher. Existing users start at version 0, which is
+-- also the version of tokens issued before this column existed.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version BIGINT NOT NULL DEFAULT 0;
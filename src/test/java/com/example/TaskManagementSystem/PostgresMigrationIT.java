@@ -0,0 +1,130 @@
+package com.example.TaskManagementSystem;
+
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.models.Comment;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.services.TaskService;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with {@code -Ppostgres-it} only. The context starts only if the Flyway migrations apply
+ * to PostgreSQL and {@code ddl-auto=validate} accepts the schema they leave.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "spring.profiles.active", matches = "postgres")
+class PostgresMigrationIT {
+
+    private static final String BACKFILL_SCHEMA = "backfill_it";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void migrations_ShouldAllBeApplied() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied()).allMatch(migration -> migration.getState().isApplied()
+                && !migration.getState().isFailed());
+    }
+
+    @Test
+    @Transactional
+    void search_ShouldMatchTitlesDescriptionsAndComments() {
+        User author = userRepository.save(new User(null, "searcher", "searcher@example.com", "password", Role.ROLE_USER));
+        Task deploy = task("Deploy billing service", "after the database upgrade", author);
+        task("Fix billing report", null, author);
+        Task totals = task("Check totals", null, author);
+        totals.getComments().add(new Comment(null, "billing totals are off", totals, author));
+        entityManager.flush();
+
+        assertThat(titles(taskService.search("billing -report", author.getId(), null, 20)))
+                .containsExactlyInAnyOrder("Deploy billing service", "Check totals");
+        assertThat(titles(taskService.search("\"database upgrade\"", author.getId(), null, 20)))
+                .containsExactly("Deploy billing service");
+
+        deploy.setTitle("Deploy invoicing service");
+        entityManager.flush();
+        assertThat(titles(taskService.search("invoicing", author.getId(), null, 20)))
+                .containsExactly("Deploy invoicing service");
+    }
+
+    @Test
+    void backfill_ShouldFillVectorsOfRowsFromBeforeV6() {
+        // a scratch schema, migrated up to V5, filled, then migrated to the latest version
+        try {
+            Flyway scratch = Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .schemas(BACKFILL_SCHEMA)
+                    .defaultSchema(BACKFILL_SCHEMA)
+                    .target("5")
+                    .load();
+            scratch.migrate();
+
+            String schema = BACKFILL_SCHEMA + ".";
+            jdbcTemplate.update("INSERT INTO " + schema + "users (username, email, password, role)"
+                    + " VALUES ('legacy', 'legacy@example.com', 'password', 'ROLE_USER')");
+            // ids in two backfill batches
+            for (long id : new long[]{1, 12_001}) {
+                jdbcTemplate.update("INSERT INTO " + schema + "tasks (id, title, status, priority, author_id)"
+                        + " SELECT ?, 'Legacy task', 'PENDING', 'LOW', id FROM " + schema + "users", id);
+                jdbcTemplate.update("INSERT INTO " + schema + "comments (id, text, author_id, task_id)"
+                        + " SELECT ?, 'legacy comment', id, ? FROM " + schema + "users", id, id);
+            }
+
+            Flyway.configure().configuration(scratch.getConfiguration()).target("latest").load().migrate();
+
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + schema + "tasks"
+                    + " WHERE search_vector @@ websearch_to_tsquery('simple', 'legacy')", Long.class)).isEqualTo(2);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + schema + "comments"
+                    + " WHERE search_vector @@ websearch_to_tsquery('simple', 'comment')", Long.class)).isEqualTo(2);
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + BACKFILL_SCHEMA + " CASCADE");
+        }
+    }
+
+    private Task task(String title, String description, User author) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setAuthor(author);
+        return taskRepository.save(task);
+    }
+
+    private static List<String> titles(CursorPageDTO<TaskDTO> page) {
+        return page.items().stream().map(TaskDTO::title).toList();
+    }
+}
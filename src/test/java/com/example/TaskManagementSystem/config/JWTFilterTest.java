@@ -0,0 +1,182 @@
+package com.example.TaskManagementSystem.config;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PersonDetails;
+import com.example.TaskManagementSystem.security.PrincipalCache;
+import com.example.TaskManagementSystem.security.VerifiedToken;
+import com.example.TaskManagementSystem.security.VerifiedTokenCache;
+import com.example.TaskManagementSystem.services.DefaultUserDetailsService;
+import com.example.TaskManagementSystem.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JWTFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private DefaultUserDetailsService userDetailsService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private PrincipalCache principalCache;
+    private SimpleMeterRegistry meterRegistry;
+    private JWTFilter jwtFilter;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        TokenService tokenService = new TokenService(jwtUtil, principalCache, userRepository);
+        jwtFilter = new JWTFilter(new VerifiedTokenCache(jwtUtil, true, 100), userDetailsService, principalCache,
+                tokenService, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldLoadPrincipalOncePerEmail() throws Exception {
+        // Arrange
+        PersonDetails principal = new PersonDetails(new User(1L, "bob", "bob@example.com", "hash", Role.ROLE_USER));
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("bob@example.com", 0, Instant.now().plusSeconds(60)));
+        when(userRepository.findTokenVersion("bob@example.com")).thenReturn(OptionalLong.of(0));
+        when(userDetailsService.loadUserByUsername("bob@example.com")).thenReturn(principal);
+
+        // Act
+        jwtFilter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+        jwtFilter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(jwtUtil, times(1)).verify("token");
+        verify(userDetailsService, times(1)).loadUserByUsername("bob@example.com");
+        verify(filterChain, times(2)).doFilter(any(), any());
+        assertSame(principal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertEquals(2, meterRegistry.get("jwt.verification").timer().count());
+        assertEquals(2, meterRegistry.get("jwt.revocation.check").timer().count());
+        assertEquals(2, meterRegistry.get("jwt.principal.load").timer().count());
+    }
+
+    @Test
+    void doFilter_ShouldReloadPrincipalAfterInvalidation() throws Exception {
+        // Arrange
+        PersonDetails principal = new PersonDetails(new User(1L, "bob", "bob@example.com", "hash", Role.ROLE_USER));
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("bob@example.com", 0, Instant.now().plusSeconds(60)));
+        when(userRepository.findTokenVersion("bob@example.com")).thenReturn(OptionalLong.of(0));
+        when(userDetailsService.loadUserByUsername("bob@example.com")).thenReturn(principal);
+
+        // Act
+        jwtFilter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+        principalCache.invalidate("bob@example.com");
+        jwtFilter.doFilter(bearer("token"), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(userDetailsService, times(2)).loadUserByUsername("bob@example.com");
+    }
+
+    @Test
+    void doFilter_ShouldRejectInvalidToken() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify("bad")).thenThrow(new JWTVerificationException("bad"));
+
+        // Act
+        jwtFilter.doFilter(bearer("bad"), response, filterChain);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, filterChain);
+        assertEquals(1.0, meterRegistry.get("jwt.failures").tag("reason", "other").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldCountExpiredTokens() throws Exception {
+        // Arrange
+        when(jwtUtil.verify("old")).thenThrow(new TokenExpiredException("expired", Instant.now()));
+
+        // Act
+        jwtFilter.doFilter(bearer("old"), new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("jwt.failures").tag("reason", "expired").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldRejectTokenIssuedBeforeRevocation() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("bob@example.com", 0, Instant.now().plusSeconds(60)));
+        // the cached principal still has version 0, the database already has 1
+        principalCache.get("bob@example.com", email -> new PersonDetails(new User(1L, "bob", email, "hash", Role.ROLE_USER)));
+        when(userRepository.findTokenVersion("bob@example.com")).thenReturn(OptionalLong.of(1));
+
+        // Act
+        jwtFilter.doFilter(bearer("token"), response, filterChain);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, filterChain);
+        assertEquals(1.0, meterRegistry.get("jwt.failures").tag("reason", "revoked").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldAnswerServiceUnavailableWhenUserCannotBeLookedUp() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("bob@example.com", 0, Instant.now().plusSeconds(60)));
+        when(userRepository.findTokenVersion("bob@example.com"))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection is not available, request timed out"));
+
+        // Act
+        jwtFilter.doFilter(bearer("token"), response, filterChain);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(filterChain);
+    }
+
+    private MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.TaskManagementSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+class ManagementPortIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheus_ShouldBeServedWithoutTokenOnManagementPortOnly() {
+        ResponseEntity<String> management = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        ResponseEntity<String> api = restTemplate.getForEntity(
+                "http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        assertThat(management.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(management.getBody()).contains("jvm_memory_used_bytes");
+        assertThat(api.getStatusCode().is4xxClientError()).isTrue();
+        assertThat(String.valueOf(api.getBody())).doesNotContain("jvm_memory_used_bytes");
+    }
+}
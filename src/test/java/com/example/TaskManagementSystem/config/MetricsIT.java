@@ -0,0 +1,49 @@
+package com.example.TaskManagementSystem.config;
+
+import com.example.TaskManagementSystem.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void prometheus_ShouldExposeServiceRepositoryHibernateAndPoolMetrics() throws Exception {
+        taskService.getTaskSummaries(null, 10);
+        // the first scrape is itself counted once it completes
+        scrape();
+
+        String metrics = scrape();
+
+        assertThat(metrics)
+                .contains("task_service_seconds_bucket{class=\"com.example.TaskManagementSystem.services.TaskService\"")
+                .contains("method=\"getTaskSummaries\"")
+                .contains("spring_data_repository_invocations_seconds_bucket")
+                .contains("jwt_verification_seconds_bucket")
+                .contains("hibernate_statements_per_request_bucket")
+                .contains("hibernate_second_level_cache_requests")
+                .contains("hikaricp_connections_acquire_seconds_bucket");
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.TaskManagementSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * On a real server, where {@code sendError} forwards to the error page through the security
+ * filter chain, unlike MockMvc. No permits, so every request is turned away.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.admission.max-concurrent-requests=0",
+        "server.admission.acquire-timeout=1ms"})
+class RequestAdmissionFilterIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void rejectedRequest_ShouldReachClientAsServiceUnavailable() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/tasks", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+}
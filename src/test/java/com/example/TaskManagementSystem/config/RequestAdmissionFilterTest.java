@@ -0,0 +1,63 @@
+package com.example.TaskManagementSystem.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestAdmissionFilterTest {
+
+    private final RequestAdmissionFilter filter =
+            new RequestAdmissionFilter(new RequestAdmissionProperties(1, Duration.ofMillis(10)));
+
+    @Test
+    void doFilter_ShouldRejectRequestsBeyondLimitWith503() throws Exception {
+        // Arrange
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // Act: the only permit is held while the second request arrives
+        filter.doFilter(new MockHttpServletRequest(), admitted, (request, response) -> {
+            Thread second = new Thread(() -> {
+                try {
+                    filter.doFilter(new MockHttpServletRequest(), rejected, (req, res) -> {
+                    });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            second.start();
+            try {
+                second.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_OK, admitted.getStatus());
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_ShouldReleasePermitAfterRequest() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), first, (request, response) -> {
+        });
+        filter.doFilter(new MockHttpServletRequest(), second, (request, response) -> {
+        });
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_OK, first.getStatus());
+        assertEquals(HttpServletResponse.SC_OK, second.getStatus());
+    }
+}
@@ -1,27 +1,43 @@
 package com.example.TaskManagementSystem.controller;
 
 import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskChangeDTO;
 import com.example.TaskManagementSystem.dto.TaskDTO;
-import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.dto.TaskImportErrorDTO;
+import com.example.TaskManagementSystem.dto.TaskImportResultDTO;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.dto.Versioned;
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.security.PersonDetails;
+import com.example.TaskManagementSystem.services.TaskExportService;
+import com.example.TaskManagementSystem.services.TaskImportService;
 import com.example.TaskManagementSystem.services.TaskService;
-import com.example.TaskManagementSystem.services.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,35 +48,36 @@ class AdminTaskControllerTest {
     private TaskService taskService;
 
     @Mock
-    private UserService userService;
+    private TaskImportService taskImportService;
 
     @Mock
-    private JwtUtil jwtUtil;
+    private TaskExportService taskExportService;
 
     @InjectMocks
     private AdminTaskController adminTaskController;
 
     @Test
-    void getAllTasks_ShouldReturnAllTasks() {
+    void getAllTasks_ShouldReturnPageOfTasks() {
         // Arrange
-        TaskDTO task1 = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null);
-        TaskDTO task2 = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", null, null);
-        List<TaskDTO> expectedTasks = List.of(task1, task2);
-        when(taskService.getAllTasks()).thenReturn(expectedTasks);
+        TaskDTO task1 = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null, null);
+        TaskDTO task2 = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", null, null, null);
+        CursorPageDTO<TaskDTO> expectedPage = new CursorPageDTO<>(List.of(task1, task2), "next");
+        TaskFilter filter = new TaskFilter("PENDING", null, "admin", null);
+        when(taskService.getTasksPage(filter, "cursor", 2, 0)).thenReturn(expectedPage);
 
         // Act
-        ResponseEntity<List<TaskDTO>> response = adminTaskController.getAllTasks();
+        ResponseEntity<CursorPageDTO<TaskDTO>> response = adminTaskController.getAllTasks("PENDING", null, "admin", null, "cursor", 2, 0);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedTasks, response.getBody());
-        verify(taskService).getAllTasks();
+        assertEquals(expectedPage, response.getBody());
+        verify(taskService).getTasksPage(filter, "cursor", 2, 0);
     }
     @Test
     void createTask_ShouldReturnCreatedTask() {
         // Arrange
-        TaskDTO inputTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null);
-        TaskDTO createdTask = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", null, null);
+        TaskDTO inputTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null, null);
+        TaskDTO createdTask = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", null, null, null);
         when(taskService.create(inputTask)).thenReturn(createdTask);
 
         // Act
@@ -72,20 +89,56 @@ class AdminTaskControllerTest {
         verify(taskService).create(inputTask);
     }
     @Test
+    void importTasks_ShouldReturnImportResult() throws IOException {
+        // Arrange
+        InputStream body = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+        TaskImportResultDTO result = new TaskImportResultDTO(1, List.of(new TaskImportErrorDTO(2, "Title cannot be empty")));
+        when(taskImportService.importTasks(body)).thenReturn(result);
+
+        // Act
+        ResponseEntity<TaskImportResultDTO> response = adminTaskController.importTasks(body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+        verify(taskImportService).importTasks(body);
+    }
+    @Test
+    void exportTasks_ShouldStreamCsvAsAttachment() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = adminTaskController.exportTasks("csv");
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"tasks.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(taskExportService).export(TaskExportService.Format.CSV, out);
+    }
+    @Test
+    void exportTasks_ShouldRejectUnknownFormat() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> adminTaskController.exportTasks("xml"));
+    }
+    @Test
     void updateTask_ShouldReturnUpdatedTask() {
         // Arrange
         Long taskId = 1L;
-        TaskDTO inputTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null);
-        TaskDTO updatedTask = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", null, null);
-        when(taskService.update(taskId, inputTask)).thenReturn(updatedTask);
+        TaskDTO inputTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null, null);
+        TaskDTO updatedTask = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", null, null, null);
+        when(taskService.update(taskId, inputTask, 3L)).thenReturn(new Versioned<>(updatedTask, 4L));
 
         // Act
-        ResponseEntity<TaskDTO> response = adminTaskController.updateTask(taskId, inputTask);
+        ResponseEntity<TaskDTO> response = adminTaskController.updateTask(taskId, inputTask, "\"3\"");
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(updatedTask, response.getBody());
-        verify(taskService).update(taskId, inputTask);
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        verify(taskService).update(taskId, inputTask, 3L);
     }
     @Test
     void deleteTask_ShouldReturnNoContent() {
@@ -105,16 +158,16 @@ class AdminTaskControllerTest {
         // Arrange
         Long taskId = 1L;
         String newStatus = "IN_PROGRESS";
-        TaskDTO updatedTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null);
-        when(taskService.changeStatus(taskId, newStatus)).thenReturn(updatedTask);
+        TaskDTO updatedTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null, null);
+        when(taskService.changeStatus(taskId, newStatus, null)).thenReturn(new Versioned<>(updatedTask, 1L));
 
         // Act
-        ResponseEntity<TaskDTO> response = adminTaskController.changeStatus(taskId, newStatus);
+        ResponseEntity<?> response = adminTaskController.changeStatus(taskId, newStatus, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(updatedTask, response.getBody());
-        verify(taskService).changeStatus(taskId, newStatus);
+        verify(taskService).changeStatus(taskId, newStatus, null);
     }
 
     @Test
@@ -122,16 +175,34 @@ class AdminTaskControllerTest {
         // Arrange
         Long taskId = 1L;
         String newPriority = "HIGH";
-        TaskDTO updatedTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null);
-        when(taskService.changePriority(taskId, newPriority)).thenReturn(updatedTask);
+        TaskDTO updatedTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null, null);
+        when(taskService.changePriority(taskId, newPriority, null)).thenReturn(new Versioned<>(updatedTask, 1L));
 
         // Act
-        ResponseEntity<TaskDTO> response = adminTaskController.changePriority(taskId, newPriority);
+        ResponseEntity<?> response = adminTaskController.changePriority(taskId, newPriority, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(updatedTask, response.getBody());
-        verify(taskService).changePriority(taskId, newPriority);
+        verify(taskService).changePriority(taskId, newPriority, null);
+    }
+
+    @Test
+    void changePriority_ShouldReturnOnlyChangedFieldsWhenMinimalPreferred() {
+        // Arrange
+        Long taskId = 1L;
+        TaskChangeDTO change = new TaskChangeDTO(taskId, null, TaskPriority.HIGH, LocalDateTime.now());
+        when(taskService.changePriorityMinimal(taskId, "HIGH", 2L)).thenReturn(new Versioned<>(change, 3L));
+
+        // Act
+        ResponseEntity<?> response = adminTaskController.changePriority(taskId, "HIGH", "\"2\"", "return=minimal");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(change, response.getBody());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertEquals("return=minimal", response.getHeaders().getFirst("Preference-Applied"));
+        verify(taskService, never()).changePriority(any(), any(), any());
     }
 
     @Test
@@ -139,16 +210,16 @@ class AdminTaskControllerTest {
         // Arrange
         Long taskId = 1L;
         String username = "user";
-        TaskDTO updatedTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null);
-        when(taskService.assignUser(taskId, username)).thenReturn(updatedTask);
+        TaskDTO updatedTask = new TaskDTO("testTask1", "123", "COMPLETED", "HIGH", "admin", null, null, null);
+        when(taskService.assignUser(taskId, username, null)).thenReturn(new Versioned<>(updatedTask, 1L));
 
         // Act
-        ResponseEntity<TaskDTO> response = adminTaskController.assignUserToTask(taskId, username);
+        ResponseEntity<TaskDTO> response = adminTaskController.assignUserToTask(taskId, username, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(updatedTask, response.getBody());
-        verify(taskService).assignUser(taskId, username);
+        verify(taskService).assignUser(taskId, username, null);
     }
 
     @Test
@@ -156,14 +227,11 @@ class AdminTaskControllerTest {
         // Arrange
         Long taskId = 1L;
         CommentDTO commentDTO = new CommentDTO("text", "user");
-        String token = "Bearer validToken";
-        String email = "admin@example.com";
         User admin = new User();
         admin.setUsername("admin");
+        PersonDetails principal = new PersonDetails(admin);
         CommentDTO expectedComment = new CommentDTO("text", "user");
 
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn(email);
-        when(userService.findByEmail(email)).thenReturn(Optional.of(admin));
         when(taskService.addComment(eq(taskId), any(CommentDTO.class), eq("admin")))
                 .thenReturn(expectedComment);
 
@@ -171,7 +239,7 @@ class AdminTaskControllerTest {
         ResponseEntity<CommentDTO> response = adminTaskController.addComment(
                 taskId,
                 commentDTO,
-                token
+                principal
         );
 
         // Assert
@@ -179,21 +247,4 @@ class AdminTaskControllerTest {
         assertEquals(expectedComment, response.getBody());
         verify(taskService).addComment(taskId, commentDTO, "admin");
     }
-
-    @Test
-    void addComment_WhenUserNotFound_ShouldThrowException() {
-        // Arrange
-        Long taskId = 1L;
-        CommentDTO commentDTO = new CommentDTO("text", "user");
-        String token = "Bearer validToken";
-        String email = "admin@example.com";
-
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn(email);
-        when(userService.findByEmail(email)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(EntityNotFoundException.class, () ->
-                adminTaskController.addComment(taskId, commentDTO, token)
-        );
-    }
 }
@@ -1,9 +1,12 @@
 package com.example.TaskManagementSystem.controller;
 
 import com.example.TaskManagementSystem.dto.AuthenticationDTO;
+import com.example.TaskManagementSystem.dto.RefreshTokenDTO;
 import com.example.TaskManagementSystem.dto.UserDTO;
 import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
 import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
@@ -11,12 +14,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -39,6 +45,9 @@ class AuthControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
 
     @Test
     void testRegistration_Success() throws Exception {
@@ -85,6 +94,22 @@ class AuthControllerIT {
                 .andExpect(jsonPath("$.jwt-token").exists());
     }
 
+    @Test
+    void testLogin_ShouldUpgradeHashWithLowerCost() throws Exception {
+        userRepository.save(new User(null, "legacyUser", "legacy@example.com",
+                new BCryptPasswordEncoder(4).encode("password123"), Role.ROLE_USER));
+
+        AuthenticationDTO authDTO = new AuthenticationDTO("legacy@example.com", "password123");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authDTO)))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByEmail("legacy@example.com").orElseThrow().getPassword();
+        assertThat(storedHash).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches("password123", storedHash)).isTrue();
+    }
+
     @Test
     void testLogin_WrongPassword() throws Exception {
         // Register user
@@ -114,4 +139,70 @@ class AuthControllerIT {
                 .andExpect(jsonPath("$.error").value("Invalid email or password"));
     }
 
+    @Test
+    void testRefresh_ShouldIssueNewTokensUntilLogout() throws Exception {
+        UserDTO userDTO = new UserDTO("refreshUser", "refresh@example.com", "password123");
+        JsonNode registered = objectMapper.readTree(mockMvc.perform(post("/api/auth/registration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andReturn().getResponse().getContentAsString());
+        String refreshToken = registered.get("refresh-token").asText();
+
+        JsonNode refreshed = objectMapper.readTree(mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO(refreshToken))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String accessToken = refreshed.get("jwt-token").asText();
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        // a refresh token is not accepted as a bearer token
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO(refreshed.get("refresh-token").asText()))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid refresh token"));
+    }
+
+    @Test
+    void testRevocation_ShouldApplyAtOnceWhenAnotherInstanceBumpsTheVersion() throws Exception {
+        UserDTO userDTO = new UserDTO("revokedUser", "revoked@example.com", "password123");
+        JsonNode registered = objectMapper.readTree(mockMvc.perform(post("/api/auth/registration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andReturn().getResponse().getContentAsString());
+        String accessToken = registered.get("jwt-token").asText();
+
+        // loads the user into the second-level and principal caches
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // what a logout handled by another instance leaves behind: only the row changes, no local cache is evicted
+        jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE email = ?", "revoked@example.com");
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO(registered.get("refresh-token").asText()))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRefresh_InvalidToken() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO("not-a-token"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid refresh token"));
+    }
 }
@@ -1,11 +1,16 @@
 package com.example.TaskManagementSystem.controller;
 
 import com.example.TaskManagementSystem.dto.AuthenticationDTO;
+import com.example.TaskManagementSystem.dto.RefreshTokenDTO;
 import com.example.TaskManagementSystem.dto.UserDTO;
 import com.example.TaskManagementSystem.mappers.UserMapper;
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.security.PersonDetails;
+import com.example.TaskManagementSystem.security.TokenPair;
+import com.example.TaskManagementSystem.security.TokenRevokedException;
 import com.example.TaskManagementSystem.services.RegistrationService;
+import com.example.TaskManagementSystem.services.TokenService;
 import com.example.TaskManagementSystem.util.UserValidator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,7 +45,7 @@ class AuthControllerTest {
     @Mock
     private UserValidator userValidator;
     @Mock
-    private JwtUtil jwtUtil;
+    private TokenService tokenService;
     @Mock
     private UserMapper userMapper;
     @Mock
@@ -64,7 +69,7 @@ class AuthControllerTest {
         String expectedToken = "test.jwt.token";
 
         when(userMapper.toUser(any())).thenReturn(user);
-        when(jwtUtil.generateToken(any())).thenReturn(expectedToken);
+        when(tokenService.issue(user)).thenReturn(new TokenPair(expectedToken, "test.refresh.token"));
 
         // When & Then
         mockMvc.perform(post("/api/auth/registration")
@@ -105,15 +110,20 @@ class AuthControllerTest {
         // Given
         AuthenticationDTO authDTO = new AuthenticationDTO("test@example.com", "password");
         String expectedToken = "test.jwt.token";
+        User user = new User(1L, "Bob", "test@example.com", "hash", Role.ROLE_USER);
+        PersonDetails principal = new PersonDetails(user);
 
-        when(jwtUtil.generateToken(any())).thenReturn(expectedToken);
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(tokenService.issue(user)).thenReturn(new TokenPair(expectedToken, "test.refresh.token"));
 
         // When & Then
         mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(authDTO)))
                 .andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.jwt-token").value(expectedToken));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.jwt-token").value(expectedToken))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.refresh-token").value("test.refresh.token"));
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
@@ -133,6 +143,33 @@ class AuthControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Invalid credentials"));
     }
 
+    @Test
+    void refresh_Success() throws Exception {
+        // Given
+        when(tokenService.refresh("refresh.token")).thenReturn(new TokenPair("new.jwt.token", "new.refresh.token"));
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO("refresh.token"))))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.jwt-token").value("new.jwt.token"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.refresh-token").value("new.refresh.token"));
+    }
+
+    @Test
+    void refresh_InvalidToken() throws Exception {
+        // Given
+        when(tokenService.refresh("revoked.token")).thenThrow(new TokenRevokedException("revoked"));
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenDTO("revoked.token"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Invalid refresh token"));
+    }
+
     @Test
     void performLogin_InternalError() throws Exception {
         // Given
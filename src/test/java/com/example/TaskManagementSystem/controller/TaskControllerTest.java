@@ -1,24 +1,28 @@
 package com.example.TaskManagementSystem.controller;
 
 import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
 import com.example.TaskManagementSystem.dto.TaskDTO;
-import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.dto.TaskDeltaDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO;
+import com.example.TaskManagementSystem.dto.Versioned;
 import com.example.TaskManagementSystem.models.User;
-import com.example.TaskManagementSystem.security.JwtUtil;
+import com.example.TaskManagementSystem.security.PersonDetails;
 import com.example.TaskManagementSystem.services.TaskService;
-import com.example.TaskManagementSystem.services.UserService;
+import com.example.TaskManagementSystem.services.TaskSyncService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,10 +35,7 @@ class TaskControllerTest {
     private TaskService taskService;
 
     @Mock
-    private UserService userService;
-
-    @Mock
-    private JwtUtil jwtUtil;
+    private TaskSyncService taskSyncService;
 
     @InjectMocks
     private TaskController taskController;
@@ -42,106 +43,163 @@ class TaskControllerTest {
     @Test
     void getTasksForUser_ShouldReturnUserTasks() {
         // Arrange
-        String token = "Bearer validToken";
         User user = new User();
+        user.setId(7L);
+        user.setUsername("testUser");
+        PersonDetails principal = new PersonDetails(user);
+        CursorPageDTO<TaskDTO> expectedPage = new CursorPageDTO<>(List.of(
+                new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null, null),
+                new TaskDTO("testTask2", "123", "COMPLETED", "HIGH", "admin", null, null, null)), "next");
+
+        when(taskService.getTasksForUser(7L, "cursor", 2, Sort.Direction.DESC, 0)).thenReturn(expectedPage);
+
+        // Act
+        ResponseEntity<CursorPageDTO<TaskDTO>> response = taskController.getTasksForUser(principal, "cursor", 2, Sort.Direction.DESC, 0);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedPage, response.getBody());
+        verify(taskService).getTasksForUser(7L, "cursor", 2, Sort.Direction.DESC, 0);
+    }
+
+    @Test
+    void getTaskChanges_ShouldReturnChangesOfCurrentUserTasks() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("testUser");
+        PersonDetails principal = new PersonDetails(user);
+        TaskDeltaDTO expectedDelta = new TaskDeltaDTO(List.of(), List.of(3L), "next", false);
+
+        when(taskSyncService.getChangesForUser(7L, "watermark", 100)).thenReturn(expectedDelta);
+
+        // Act
+        ResponseEntity<TaskDeltaDTO> response = taskController.getTaskChanges(principal, "watermark", 100);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedDelta, response.getBody());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void searchTasks_ShouldSearchWithinCurrentUserTasks() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
         user.setUsername("testUser");
-        List<TaskDTO> expectedTasks = List.of(new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null),
-                new TaskDTO("testTask2", "123", "COMPLETED", "HIGH", "admin", null, null));
+        PersonDetails principal = new PersonDetails(user);
+        TaskDTO task = new TaskDTO("Fix login", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null, null);
+        CursorPageDTO<TaskDTO> expectedPage = new CursorPageDTO<>(List.of(task), null);
 
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn("user@mail.com");
-        when(userService.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
-        when(taskService.getTasksForUser("testUser")).thenReturn(expectedTasks);
+        when(taskService.search("login", 7L, null, 20)).thenReturn(expectedPage);
 
         // Act
-        ResponseEntity<List<TaskDTO>> response = taskController.getTasksForUser(token);
+        ResponseEntity<CursorPageDTO<TaskDTO>> response = taskController.searchTasks("login", null, 20, principal);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedTasks, response.getBody());
-        verify(taskService).getTasksForUser("testUser");
+        assertEquals(expectedPage, response.getBody());
+        verify(taskService).search("login", 7L, null, 20);
     }
 
     @Test
     void getTaskById_ShouldReturnTaskWhenAuthorized() {
         // Arrange
         Long taskId = 1L;
-        String token = "Bearer validToken";
         User user = new User();
+        user.setId(7L);
         user.setUsername("testUser");
-        TaskDTO expectedTask = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null);
+        PersonDetails principal = new PersonDetails(user);
+        TaskDTO expectedTask = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn("user@mail.com");
-        when(userService.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
-        when(taskService.getById(taskId)).thenReturn(expectedTask);
+        when(taskService.getAccessibleById(taskId, 7L, 0)).thenReturn(new Versioned<>(expectedTask, 5L));
 
         // Act
-        ResponseEntity<TaskDTO> response = taskController.getTaskById(taskId, token);
+        ResponseEntity<TaskDTO> response = taskController.getTaskById(taskId, 0, principal);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedTask, response.getBody());
-        verify(taskService).checkTaskAccess(taskId, "testUser");
+        assertEquals("\"5\"", response.getHeaders().getETag());
+        verify(taskService).getAccessibleById(taskId, 7L, 0);
     }
 
     @Test
     void getTaskById_ShouldThrowAccessDenied() {
         // Arrange
         Long taskId = 1L;
-        String token = "Bearer validToken";
         User user = new User();
+        user.setId(7L);
         user.setUsername("testUser");
+        PersonDetails principal = new PersonDetails(user);
 
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn("user@mail.com");
-        when(userService.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
-        doThrow(new AccessDeniedException("Access denied"))
-                .when(taskService).checkTaskAccess(taskId, "testUser");
+        when(taskService.getAccessibleById(taskId, 7L, 0)).thenThrow(new AccessDeniedException("Access denied"));
 
         // Act & Assert
         assertThrows(AccessDeniedException.class, () ->
-                taskController.getTaskById(taskId, token)
+                taskController.getTaskById(taskId, 0, principal)
         );
     }
 
+    @Test
+    void getComments_ShouldReturnPageForCurrentUser() {
+        // Arrange
+        Long taskId = 1L;
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("testUser");
+        PersonDetails principal = new PersonDetails(user);
+        CursorPageDTO<CommentDTO> expectedPage = new CursorPageDTO<>(List.of(new CommentDTO("hello", "testUser")), "next");
+
+        when(taskService.getComments(taskId, 7L, "cursor", 20)).thenReturn(expectedPage);
+
+        // Act
+        ResponseEntity<CursorPageDTO<CommentDTO>> response = taskController.getComments(taskId, "cursor", 20, principal);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedPage, response.getBody());
+        verify(taskService).getComments(taskId, 7L, "cursor", 20);
+    }
+
     @Test
     void updateTaskStatus_ShouldUpdateStatusWhenAuthorized() {
         // Arrange
         Long taskId = 1L;
         String status = "DONE";
-        String token = "Bearer validToken";
         User user = new User();
+        user.setId(7L);
         user.setUsername("testUser");
-        TaskDTO expectedTask = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null);
+        PersonDetails principal = new PersonDetails(user);
+        TaskDTO expectedTask = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn("user@mail.com");
-        when(userService.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
-        when(taskService.changeStatus(taskId, status)).thenReturn(expectedTask);
+        when(taskService.changeStatus(taskId, status, 5L)).thenReturn(new Versioned<>(expectedTask, 6L));
 
         // Act
-        ResponseEntity<TaskDTO> response = taskController.updateTaskStatus(taskId, status, token);
+        ResponseEntity<?> response = taskController.updateTaskStatus(taskId, status, "\"5\"", null, principal);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedTask, response.getBody());
-        verify(taskService).checkTaskAccess(taskId, "testUser");
+        verify(taskService).checkTaskAccess(taskId, 7L);
     }
 
     @Test
     void addComment_ShouldAddCommentWithUsername() {
         // Arrange
         Long taskId = 1L;
-        String token = "Bearer validToken";
         CommentDTO commentDTO = new CommentDTO("text", "testUser");
         User user = new User();
         user.setUsername("testUser");
+        PersonDetails principal = new PersonDetails(user);
         CommentDTO expectedComment = new CommentDTO("text", "testUser");
 
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn("user@mail.com");
-        when(userService.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
         when(taskService.addComment(eq(taskId), any(CommentDTO.class), eq("testUser")))
                 .thenReturn(expectedComment);
 
         // Act
-        ResponseEntity<CommentDTO> response = taskController.addComment(taskId, commentDTO, token);
+        ResponseEntity<CommentDTO> response = taskController.addComment(taskId, commentDTO, principal);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -150,15 +208,21 @@ class TaskControllerTest {
     }
 
     @Test
-    void getCurrentUser_ShouldThrowWhenUserNotFound() {
+    void changeStatuses_ShouldCheckAccessForCurrentUser() {
         // Arrange
-        String token = "Bearer validToken";
-        when(jwtUtil.validateTokenAndRetrieveClaim("validToken")).thenReturn("user@mail.com");
-        when(userService.findByEmail("user@mail.com")).thenReturn(Optional.empty());
+        User user = new User();
+        user.setId(7L);
+        PersonDetails principal = new PersonDetails(user);
+        List<TaskStatusChangeDTO> changes = List.of(new TaskStatusChangeDTO(1L, "COMPLETED", null));
+        List<TaskStatusChangeResultDTO> results = List.of(
+                new TaskStatusChangeResultDTO(1L, TaskStatusChangeResultDTO.Outcome.UPDATED, 2L));
+        when(taskService.changeStatuses(changes, 7L)).thenReturn(results);
 
-        // Act & Assert
-        assertThrows(EntityNotFoundException.class, () ->
-                taskController.getTasksForUser(token)
-        );
+        // Act
+        ResponseEntity<List<TaskStatusChangeResultDTO>> response = taskController.changeStatuses(changes, principal);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
     }
 }
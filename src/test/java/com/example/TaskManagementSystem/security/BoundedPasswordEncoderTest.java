@@ -0,0 +1,103 @@
+package com.example.TaskManagementSystem.security;
+
+import com.example.TaskManagementSystem.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private ThreadPoolExecutor executor;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        encoder = new BoundedPasswordEncoder(delegate, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void matches_ShouldRunOnExecutor() {
+        // Arrange
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        when(delegate.matches("password", "hash")).thenAnswer(invocation -> {
+            worker.set(Thread.currentThread());
+            return true;
+        });
+
+        // Act
+        boolean result = encoder.matches("password", "hash");
+
+        // Assert
+        assertTrue(result);
+        assertNotSame(caller, worker.get());
+    }
+
+    @Test
+    void encode_ShouldRejectWhenSaturated() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        assertThrows(TooManyRequestsException.class, () -> encoder.encode("other"));
+        release.countDown();
+
+        // Assert
+        assertEquals("hash", first.get(5, TimeUnit.SECONDS));
+        verify(delegate, never()).encode("other");
+    }
+
+    @Test
+    void encode_ShouldRethrowDelegateFailure() {
+        // Arrange
+        when(delegate.encode("password")).thenThrow(new IllegalArgumentException("boom"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> encoder.encode("password"));
+        assertEquals("boom", exception.getMessage());
+    }
+
+    @Test
+    void upgradeEncoding_ShouldDelegate() {
+        // Arrange
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        // Act
+        boolean result = encoder.upgradeEncoding("hash");
+
+        // Assert
+        assertTrue(result);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.TaskManagementSystem.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = jwtUtil("current-secret", "k2", Map.of("k1", "old-secret"));
+
+    @Test
+    void generatedToken_ShouldValidateAndCarryKeyId() {
+        String token = jwtUtil.generateAccessToken("user@example.com", 0);
+
+        assertEquals("k2", JWT.decode(token).getKeyId());
+        assertEquals("user@example.com", jwtUtil.validateTokenAndRetrieveClaim(token));
+    }
+
+    @Test
+    void tokenSignedWithRetiredKey_ShouldStillValidate() {
+        JwtUtil previous = jwtUtil("old-secret", "k1", Map.of());
+        String token = previous.generateAccessToken("user@example.com", 0);
+
+        assertEquals("user@example.com", jwtUtil.validateTokenAndRetrieveClaim(token));
+    }
+
+    @Test
+    void tokenWithoutKeyId_ShouldBeVerifiedWithSigningKey() {
+        String token = JWT.create()
+                .withSubject("User details")
+                .withIssuer("timofeev")
+                .withClaim("email", "user@example.com")
+                .sign(Algorithm.HMAC256("current-secret"));
+
+        assertEquals("user@example.com", jwtUtil.validateTokenAndRetrieveClaim(token));
+    }
+
+    @Test
+    void tokenWithUnknownKeyId_ShouldBeRejected() {
+        JwtUtil foreign = jwtUtil("other-secret", "k9", Map.of());
+        String token = foreign.generateAccessToken("user@example.com", 0);
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtil.validateTokenAndRetrieveClaim(token));
+    }
+
+    @Test
+    void tokenWithKnownKeyIdButWrongSignature_ShouldBeRejected() {
+        JwtUtil forged = jwtUtil("other-secret", "k2", Map.of());
+        String token = forged.generateAccessToken("user@example.com", 0);
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtil.validateTokenAndRetrieveClaim(token));
+    }
+
+    @Test
+    void refreshToken_ShouldCarryVersionAndBeRejectedAsAccessToken() {
+        String token = jwtUtil.generateRefreshToken("user@example.com", 3);
+
+        VerifiedToken verified = jwtUtil.verifyRefreshToken(token);
+        assertEquals("user@example.com", verified.email());
+        assertEquals(3, verified.tokenVersion());
+        assertThrows(IncorrectClaimException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    void accessToken_ShouldBeRejectedAsRefreshToken() {
+        String token = jwtUtil.generateAccessToken("user@example.com", 0);
+
+        assertThrows(IncorrectClaimException.class, () -> jwtUtil.verifyRefreshToken(token));
+    }
+
+    @Test
+    void tokenWithoutVersion_ShouldHaveVersionZero() {
+        String token = JWT.create()
+                .withKeyId("k2")
+                .withSubject("User details")
+                .withIssuer("timofeev")
+                .withClaim("email", "user@example.com")
+                .sign(Algorithm.HMAC256("current-secret"));
+
+        assertEquals(0, jwtUtil.verify(token).tokenVersion());
+    }
+
+    private static JwtUtil jwtUtil(String secret, String keyId, Map<String, String> retiredKeys) {
+        return new JwtUtil(new JwtProperties(secret, keyId, retiredKeys, Duration.ofMinutes(15), Duration.ofDays(30)));
+    }
+}
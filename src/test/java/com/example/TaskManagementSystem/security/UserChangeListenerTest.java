@@ -0,0 +1,65 @@
+package com.example.TaskManagementSystem.security;
+
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.util.UserFinder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeListenerTest {
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private ObjectProvider<UserFinder> userFinder;
+
+    @InjectMocks
+    private UserChangeListener listener;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onUpdate_ShouldInvalidateOnlyTheUserAgainAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        User user = new User(1L, "user", "user@example.com", "password", Role.ROLE_USER);
+
+        // Act
+        listener.onUpdate(user);
+        verify(principalCache, times(1)).invalidate("user@example.com");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(principalCache, times(2)).invalidate("user@example.com");
+        verifyNoMoreInteractions(principalCache);
+    }
+
+    @Test
+    void onUpdate_ShouldInvalidateImmediatelyWithoutTransaction() {
+        // Arrange
+        User user = new User(1L, "user", "user@example.com", "password", Role.ROLE_USER);
+
+        // Act
+        listener.onUpdate(user);
+
+        // Assert
+        verify(principalCache).invalidate("user@example.com");
+        verifyNoMoreInteractions(principalCache);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.TaskManagementSystem.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-04-01T10:00:00Z");
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private MutableClock clock;
+    private VerifiedTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        tokenCache = new VerifiedTokenCache(jwtUtil, true, 100, clock);
+    }
+
+    @Test
+    void verify_ShouldCheckSignatureOnlyOnceForRepeatedToken() {
+        // Arrange
+        VerifiedToken verified = new VerifiedToken("user@example.com", 0, NOW.plusSeconds(60));
+        when(jwtUtil.verify("token")).thenReturn(verified);
+
+        // Act
+        tokenCache.verify("token");
+        VerifiedToken result = tokenCache.verify("token");
+
+        // Assert
+        assertEquals(verified, result);
+        verify(jwtUtil, times(1)).verify("token");
+    }
+
+    @Test
+    void verify_ShouldFailOnceTokenExpires() {
+        // Arrange
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("user@example.com", 0, NOW.plusSeconds(60)));
+        tokenCache.verify("token");
+
+        // Act
+        clock.advance(Duration.ofSeconds(60));
+        when(jwtUtil.verify("token")).thenThrow(new TokenExpiredException("expired", NOW.plusSeconds(60)));
+
+        // Assert
+        assertThrows(TokenExpiredException.class, () -> tokenCache.verify("token"));
+    }
+
+    @Test
+    void verify_ShouldVerifyAgainAfterInvalidation() {
+        // Arrange
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("user@example.com", 0, NOW.plusSeconds(60)));
+        tokenCache.verify("token");
+
+        // Act
+        tokenCache.invalidate("token");
+        tokenCache.verify("token");
+
+        // Assert
+        verify(jwtUtil, times(2)).verify("token");
+    }
+
+    @Test
+    void verify_ShouldNotCacheRejectedTokens() {
+        // Arrange
+        when(jwtUtil.verify("bad")).thenThrow(new JWTVerificationException("bad"));
+
+        // Act & Assert
+        assertThrows(JWTVerificationException.class, () -> tokenCache.verify("bad"));
+        assertThrows(JWTVerificationException.class, () -> tokenCache.verify("bad"));
+        verify(jwtUtil, times(2)).verify("bad");
+    }
+
+    @Test
+    void verify_ShouldBypassCacheWhenDisabled() {
+        // Arrange
+        VerifiedTokenCache disabled = new VerifiedTokenCache(jwtUtil, false, 100, clock);
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("user@example.com", 0, NOW.plusSeconds(60)));
+
+        // Act
+        disabled.verify("token");
+        disabled.verify("token");
+
+        // Assert
+        verify(jwtUtil, times(2)).verify("token");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
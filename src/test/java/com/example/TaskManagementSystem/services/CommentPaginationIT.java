@@ -0,0 +1,138 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.models.Comment;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class CommentPaginationIT {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User author;
+    private User outsider;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        author = userRepository.save(new User(null, "author", "author@example.com", "password", Role.ROLE_USER));
+        outsider = userRepository.save(new User(null, "outsider", "outsider@example.com", "password", Role.ROLE_USER));
+    }
+
+    @Test
+    void getComments_ShouldVisitEveryCommentOnceInOrder() {
+        Long taskId = seedTask(95);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<CommentDTO> page = taskService.getComments(taskId, author.getId(), cursor, PAGE_SIZE);
+            page.items().forEach(comment -> seen.add(comment.text()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(IntStream.range(0, 95).mapToObj(i -> "comment-" + i).toList());
+        assertThat(pages).isEqualTo(5);
+    }
+
+    @Test
+    void getComments_ShouldCheckAccessUnlessAdmin() {
+        Long taskId = seedTask(3);
+
+        assertThrows(AccessDeniedException.class, () -> taskService.getComments(taskId, outsider.getId(), null, PAGE_SIZE));
+        assertThat(taskService.getComments(taskId, null, null, PAGE_SIZE).items()).hasSize(3);
+        assertThrows(EntityNotFoundException.class, () -> taskService.getComments(-1L, null, null, PAGE_SIZE));
+    }
+
+    @Test
+    void getTasksPage_ShouldLoadLatestCommentsWithConstantStatements() {
+        seedTask(30);
+        seedTask(30);
+        statistics.clear();
+        taskService.getTasksPage(new TaskFilter(null, null, null, null), null, PAGE_SIZE, 5);
+        long statementsForTwo = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            seedTask(30);
+        }
+        statistics.clear();
+        List<TaskDTO> tasks = taskService.getTasksPage(new TaskFilter(null, null, null, null), null, PAGE_SIZE, 5).items();
+
+        assertThat(tasks).hasSize(12).allSatisfy(task -> {
+            assertThat(task.commentCount()).isEqualTo(30);
+            assertThat(task.comments()).extracting(CommentDTO::text)
+                    .containsExactly("comment-29", "comment-28", "comment-27", "comment-26", "comment-25");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsForTwo);
+    }
+
+    @Test
+    void getTasksPage_ShouldNotLoadCommentsByDefault() {
+        seedTask(30);
+        statistics.clear();
+
+        TaskDTO task = taskService.getTasksPage(new TaskFilter(null, null, null, null), null, PAGE_SIZE, 0).items().get(0);
+
+        assertThat(task.comments()).isNull();
+        assertThat(task.commentCount()).isEqualTo(30);
+        assertThat(statistics.getEntityStatistics(Comment.class.getName()).getLoadCount()).isZero();
+    }
+
+    private Long seedTask(int comments) {
+        Task task = new Task();
+        task.setTitle("task-" + System.nanoTime());
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setAuthor(author);
+        for (int i = 0; i < comments; i++) {
+            task.getComments().add(new Comment(null, "comment-" + i, task, author));
+        }
+        Long id = taskRepository.save(task).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.config.OutboxProperties;
+import com.example.TaskManagementSystem.events.TaskEvent;
+import com.example.TaskManagementSystem.events.TaskEventSink;
+import com.example.TaskManagementSystem.models.OutboxEvent;
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
+import com.example.TaskManagementSystem.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TaskEventSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, sink, transactionManager,
+                new OutboxProperties(OutboxProperties.Sink.MEMORY, Path.of("unused"), 2), meterRegistry);
+    }
+
+    @Test
+    void relay_ShouldPublishAndDeleteBatchesUntilOutboxIsDrained() {
+        // Arrange
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        OutboxEvent third = event(3L);
+        when(outboxEventRepository.findOldest(any(Limit.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(sink).publish(List.of(TaskEvent.from(first), TaskEvent.from(second)));
+        verify(sink).publish(List.of(TaskEvent.from(third)));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        assertEquals(3.0, meterRegistry.get("outbox.events.published").counter().count());
+    }
+
+    @Test
+    void publishBatch_ShouldKeepEventsWhenSinkFails() {
+        // Arrange
+        when(outboxEventRepository.findOldest(any(Limit.class))).thenReturn(List.of(event(1L)));
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(anyList());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> relay.publishBatch());
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    private static OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent(TaskEventType.CREATED, 10L, "{}");
+        event.setId(id);
+        return event;
+    }
+}
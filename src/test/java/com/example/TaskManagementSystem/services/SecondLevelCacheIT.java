@@ -0,0 +1,180 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.config.SecondLevelCacheConfig;
+import com.example.TaskManagementSystem.dto.CacheRegionStatsDTO;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every step runs in its own transaction, otherwise the persistence context would answer
+ * the repeated reads before the second-level cache is asked.
+ */
+@SpringBootTest
+class SecondLevelCacheIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findByUsername_ShouldBeAnsweredFromCacheAfterFirstLookup() {
+        userRepository.save(new User(null, "cached", "cached@example.com", "password", Role.ROLE_USER));
+        statistics.clear();
+
+        transaction.executeWithoutResult(status -> assertThat(userRepository.findByUsername("cached")).isPresent());
+        transaction.executeWithoutResult(status -> assertThat(userRepository.findByUsername("cached")).isPresent());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void register_ShouldInvalidateCachedLookups() {
+        transaction.executeWithoutResult(status -> assertThat(userRepository.findByEmail("newcomer@example.com")).isEmpty());
+        transaction.executeWithoutResult(status -> assertThat(userRepository.findByEmail("newcomer@example.com")).isEmpty());
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        registrationService.register(new User(null, "newcomer", "newcomer@example.com", "password", null));
+
+        transaction.executeWithoutResult(status -> assertThat(userRepository.findByEmail("newcomer@example.com")).isPresent());
+        transaction.executeWithoutResult(status -> assertThat(userRepository.findByUsername("newcomer")).isPresent());
+    }
+
+    @Test
+    void assignees_ShouldBeAnsweredFromCollectionCache() {
+        User author = userRepository.save(new User(null, "lead", "lead@example.com", "password", Role.ROLE_ADMIN));
+        User worker = userRepository.save(new User(null, "dev", "dev@example.com", "password", Role.ROLE_USER));
+        Task task = new Task();
+        task.setTitle("cached task");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setAuthor(author);
+        task.getAssignees().add(worker);
+        Long taskId = taskRepository.save(task).getId();
+        statistics.clear();
+
+        for (int i = 0; i < 2; i++) {
+            transaction.executeWithoutResult(status ->
+                    assertThat(taskRepository.findByIdIn(List.of(taskId)).get(0).getAssignees())
+                            .extracting(User::getUsername)
+                            .containsExactly("dev"));
+        }
+
+        // the second read loads the task row only, assignees and users come from the cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(cacheStatisticsService.getSecondLevelCacheStats())
+                .filteredOn(stats -> stats.region().equals(SecondLevelCacheConfig.TASK_ASSIGNEES_REGION))
+                .singleElement()
+                .extracting(CacheRegionStatsDTO::hits)
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void changeStatus_ShouldKeepCachedAssignees() {
+        User author = userRepository.save(new User(null, "lead", "lead@example.com", "password", Role.ROLE_ADMIN));
+        User worker = userRepository.save(new User(null, "dev", "dev@example.com", "password", Role.ROLE_USER));
+        Task task = new Task();
+        task.setTitle("cached task");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setAuthor(author);
+        task.getAssignees().add(worker);
+        Long taskId = taskRepository.save(task).getId();
+        transaction.executeWithoutResult(status ->
+                taskRepository.findByIdIn(List.of(taskId)).get(0).getAssignees().size());
+        statistics.clear();
+
+        transaction.executeWithoutResult(status -> {
+            assertThat(taskRepository.updateStatus(taskId, TaskStatus.IN_PROGRESS, null, LocalDateTime.now())).isEqualTo(1);
+            assertThat(taskRepository.updatePriority(taskId, TaskPriority.HIGH, 1L, LocalDateTime.now())).isEqualTo(1);
+            assertThat(taskRepository.touch(taskId, LocalDateTime.now())).isEqualTo(1);
+        });
+        transaction.executeWithoutResult(status -> {
+            Task changed = taskRepository.findByIdIn(List.of(taskId)).get(0);
+            assertThat(changed.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(changed.getAssignees()).extracting(User::getUsername).containsExactly("dev");
+        });
+
+        assertThat(cacheStatisticsService.getSecondLevelCacheStats())
+                .filteredOn(stats -> stats.region().equals(SecondLevelCacheConfig.TASK_ASSIGNEES_REGION))
+                .singleElement()
+                .extracting(CacheRegionStatsDTO::hits)
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void incrementTokenVersion_ShouldEvictOnlyThatUser() {
+        Long revokedId = userRepository.save(new User(null, "revoked", "revoked@example.com", "password", Role.ROLE_USER)).getId();
+        Long otherId = userRepository.save(new User(null, "other", "other@example.com", "password", Role.ROLE_USER)).getId();
+        transaction.executeWithoutResult(status -> {
+            userRepository.findById(revokedId);
+            userRepository.findById(otherId);
+        });
+        statistics.clear();
+
+        transaction.executeWithoutResult(status ->
+                assertThat(userRepository.incrementTokenVersion("revoked@example.com")).isEqualTo(1));
+
+        transaction.executeWithoutResult(status -> {
+            assertThat(userRepository.findById(revokedId)).get().extracting(User::getTokenVersion).isEqualTo(1L);
+            assertThat(userRepository.findById(otherId)).isPresent();
+        });
+        assertThat(cacheStatisticsService.getSecondLevelCacheStats())
+                .filteredOn(stats -> stats.region().equals(SecondLevelCacheConfig.USERS_REGION))
+                .singleElement()
+                .satisfies(stats -> {
+                    assertThat(stats.hits()).isEqualTo(1L);
+                    assertThat(stats.misses()).isEqualTo(1L);
+                });
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskExportDTO;
+import com.example.TaskManagementSystem.models.Comment;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TaskExportIT {
+
+    private static final int TASKS = 1_200;
+    private static final int BLOCKS = (TASKS + TaskRepository.EXPORT_FETCH_SIZE - 1) / TaskRepository.EXPORT_FETCH_SIZE;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        User author = userRepository.save(new User(null, "author", "author@example.com", "password", Role.ROLE_ADMIN));
+        User worker = userRepository.save(new User(null, "worker", "worker@example.com", "password", Role.ROLE_USER));
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle(i == 0 ? "Fix \"login\", then logout" : "task-" + i);
+            task.setDescription(i == 1 ? "=HYPERLINK(\"http://example.com\")" : null);
+            task.setStatus(TaskStatus.PENDING);
+            task.setPriority(TaskPriority.MEDIUM);
+            task.setAuthor(author);
+            task.getAssignees().add(worker);
+            // task 2 has no comments, task 3 has several
+            for (int c = 0; c < (i == 2 ? 0 : i == 3 ? 3 : 1); c++) {
+                task.getComments().add(new Comment(null, c == 0 ? "comment-" + i : "comment-" + i + "-" + c, task, worker));
+            }
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonLinePerTaskWithBoundedStatementsPerBlock() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.export(TaskExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(TASKS);
+        assertThat(objectMapper.readValue(lines[2], TaskExportDTO.class).comments()).isEmpty();
+        assertThat(objectMapper.readValue(lines[3], TaskExportDTO.class).comments())
+                .extracting(CommentDTO::text).containsExactly("comment-3", "comment-3-1", "comment-3-2");
+        TaskExportDTO last = objectMapper.readValue(lines[TASKS - 1], TaskExportDTO.class);
+        assertThat(last.title()).isEqualTo("task-" + (TASKS - 1));
+        assertThat(last.assignees()).containsExactly("worker");
+        assertThat(last.comments()).extracting(CommentDTO::author).containsExactly("worker");
+        // the task and the comment cursor, then per block batched loads of assignees; comments
+        // are read as rows, never as entities of a whole block
+        assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(2 + BLOCKS * (TaskRepository.EXPORT_FETCH_SIZE / 100 + 1));
+        assertThat(statistics.getEntityStatistics(Comment.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void export_ShouldWriteEscapedCsvWithoutLoadingComments() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.export(TaskExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(TASKS + 1);
+        assertThat(lines[0]).startsWith("id,title,");
+        assertThat(lines[1]).contains(",\"Fix \"\"login\"\", then logout\",,PENDING,MEDIUM,author,worker,1,");
+        // formulas are neutralized with a leading quote
+        assertThat(lines[2]).contains(",task-1,\"'=HYPERLINK(\"\"http://example.com\"\")\",PENDING,");
+        // the cursor query, then per block batched loads of assignees only
+        assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(1 + BLOCKS * (TaskRepository.EXPORT_FETCH_SIZE / 100 + 1));
+        assertThat(statistics.getEntityStatistics(Comment.class.getName()).getLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.TaskImportErrorDTO;
+import com.example.TaskManagementSystem.dto.TaskImportResultDTO;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.util.UserFinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional on purpose: the import commits every chunk itself, so the tables are
+ * emptied after each test instead.
+ */
+@SpringBootTest
+class TaskImportIT {
+
+    private static final int ROWS = 1_200;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserFinder userFinder;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "importer", "importer@example.com", "password", Role.ROLE_ADMIN));
+        userRepository.save(new User(null, "alice", "alice@example.com", "password", Role.ROLE_USER));
+        userRepository.save(new User(null, "bob", "bob@example.com", "password", Role.ROLE_USER));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM task_assignees");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM users");
+        // plain SQL bypasses Hibernate, so the second-level cache and the username resolver have to be told
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        userFinder.invalidateAll();
+    }
+
+    @Test
+    void importTasks_ShouldStoreValidRowsInBatchesAndReportInvalidOnes() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int row = 1; row <= ROWS; row++) {
+            if (row == 5) {
+                ndjson.append("{\"title\":\"\",\"status\":\"PENDING\",\"priority\":\"LOW\",\"author\":\"importer\"}\n");
+            } else if (row == 10) {
+                ndjson.append("{\"title\":\"t\",\"status\":\"PENDING\",\"priority\":\"LOW\",\"author\":\"importer\",\"assignees\":[\"ghost\"]}\n");
+            } else if (row == 15) {
+                ndjson.append("{\"title\":\"t\",\"status\":\"PENDING\",\"priority\":\"LOW\",\"author\":\"importer\",\"assignees\":{\"x\":1}}\n");
+            } else {
+                ndjson.append("{\"title\":\"task-").append(row)
+                        .append("\",\"status\":\"PENDING\",\"priority\":\"HIGH\",\"author\":\"importer\",")
+                        .append("\"assignees\":[\"alice\",\"bob\"],\"comments\":[{\"text\":\"imported\",\"author\":\"bob\"}]}\n");
+            }
+        }
+
+        TaskImportResultDTO result = taskImportService.importTasks(stream(ndjson.toString()));
+
+        assertThat(result.imported()).isEqualTo(ROWS - 3);
+        assertThat(result.errors()).extracting(TaskImportErrorDTO::row).containsExactly(5L, 10L, 15L);
+        assertThat(result.errors().get(0).message()).contains("Title cannot be empty");
+        assertThat(result.errors().get(1).message()).isEqualTo("Users not found: ghost");
+        assertThat(taskRepository.count()).isEqualTo(ROWS - 3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_assignees", Long.class)).isEqualTo(2L * (ROWS - 3));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments", Long.class)).isEqualTo(ROWS - 3L);
+        // ~4800 inserted rows: batched inserts and pooled ids keep the statement count far below that
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS / 4);
+    }
+
+    @Test
+    void importTasks_ShouldAcceptJsonArray() throws IOException {
+        String json = "[" +
+                "{\"title\":\"first\",\"status\":\"PENDING\",\"priority\":\"LOW\",\"author\":\"importer\"}," +
+                "{\"title\":\"second\",\"status\":\"DONE\",\"priority\":\"LOW\",\"author\":\"importer\"}," +
+                "{\"title\":\"third\",\"status\":\"PENDING\",\"priority\":\"LOW\",\"author\":\"importer\"}" +
+                "]";
+
+        TaskImportResultDTO result = taskImportService.importTasks(stream(json));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).containsExactly(new TaskImportErrorDTO(2, "Invalid status: DONE"));
+    }
+
+    @Test
+    void importTasks_ShouldImportRowsReadBeforeMalformedInput() throws IOException {
+        String ndjson = "{\"title\":\"first\",\"status\":\"PENDING\",\"priority\":\"LOW\",\"author\":\"importer\"}\n" +
+                "{\"title\": oops\n";
+
+        TaskImportResultDTO result = taskImportService.importTasks(stream(ndjson));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(TaskImportErrorDTO::row).containsExactly(2L);
+        assertThat(result.errors().get(0).message()).startsWith("Malformed JSON");
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.events.InMemoryTaskEventSink;
+import com.example.TaskManagementSystem.events.TaskEvent;
+import com.example.TaskManagementSystem.events.TaskEventSink;
+import com.example.TaskManagementSystem.exceptions.PreconditionFailedException;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
+import com.example.TaskManagementSystem.repositories.OutboxEventRepository;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.util.UserFinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// events are only stored when the transaction commits, so nothing here is rolled back
+@SpringBootTest
+class TaskOutboxIT {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskEventSink taskEventSink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserFinder userFinder;
+
+    private InMemoryTaskEventSink sink;
+
+    @BeforeEach
+    void setUp() {
+        sink = (InMemoryTaskEventSink) taskEventSink;
+        sink.clear();
+        userRepository.save(new User(null, "author", "author@example.com", "password", Role.ROLE_USER));
+        userRepository.save(new User(null, "worker", "worker@example.com", "password", Role.ROLE_USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM task_assignees");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM users");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        userFinder.invalidateAll();
+    }
+
+    @Test
+    void mutations_ShouldBePublishedInOrder() {
+        taskService.create(new TaskDTO("outbox", "first task", "PENDING", "LOW", "author", List.of(), null, null));
+        Long taskId = taskRepository.findAll().get(0).getId();
+        taskService.changeStatus(taskId, "IN_PROGRESS", null);
+        taskService.changePriorityMinimal(taskId, "HIGH", null);
+        taskService.assignUser(taskId, "worker", null);
+        taskService.addComment(taskId, new CommentDTO("looks good", "worker"), "worker");
+        taskService.delete(taskId);
+
+        int published = outboxRelay.publishBatch();
+
+        List<TaskEvent> events = sink.events();
+        assertThat(published).isEqualTo(6);
+        assertThat(events).extracting(TaskEvent::type).containsExactly(
+                TaskEventType.CREATED, TaskEventType.STATUS_CHANGED, TaskEventType.PRIORITY_CHANGED,
+                TaskEventType.ASSIGNEE_ADDED, TaskEventType.COMMENT_ADDED, TaskEventType.DELETED);
+        assertThat(events).extracting(TaskEvent::taskId).containsOnly(taskId);
+        assertThat(events.get(1).payload()).contains("\"status\":\"IN_PROGRESS\"").contains("\"version\":1");
+        assertThat(events.get(4).payload()).contains("looks good");
+        assertThat(events.get(5).payload()).isNull();
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(outboxRelay.publishBatch()).isZero();
+    }
+
+    @Test
+    void failedMutation_ShouldNotAppendEvent() {
+        taskService.create(new TaskDTO("outbox", null, "PENDING", "LOW", "author", List.of(), null, null));
+        Long taskId = taskRepository.findAll().get(0).getId();
+        outboxRelay.publishBatch();
+        sink.clear();
+
+        assertThatThrownBy(() -> taskService.changeStatus(taskId, "COMPLETED", 5L))
+                .isInstanceOf(PreconditionFailedException.class);
+        taskService.delete(-1L);
+
+        assertThat(outboxRelay.publishBatch()).isZero();
+        assertThat(sink.events()).isEmpty();
+    }
+
+    @Test
+    void batchStatusChange_ShouldAppendEventPerUpdatedTask() {
+        taskService.create(new TaskDTO("one", null, "PENDING", "LOW", "author", List.of(), null, null));
+        taskService.create(new TaskDTO("two", null, "PENDING", "LOW", "author", List.of(), null, null));
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).toList();
+        outboxRelay.publishBatch();
+        sink.clear();
+
+        taskService.changeStatuses(List.of(
+                new TaskStatusChangeDTO(ids.get(0), "COMPLETED", null),
+                new TaskStatusChangeDTO(ids.get(1), "COMPLETED", 9L)), null);
+        outboxRelay.publishBatch();
+
+        assertThat(sink.events()).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo(TaskEventType.STATUS_CHANGED);
+            assertThat(event.taskId()).isEqualTo(ids.get(0));
+        });
+    }
+}
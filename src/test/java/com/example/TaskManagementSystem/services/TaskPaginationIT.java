@@ -0,0 +1,139 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.util.TaskCursor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TaskPaginationIT {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User admin;
+    private User worker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        admin = userRepository.save(new User(null, "admin", "admin@example.com", "password", Role.ROLE_ADMIN));
+        worker = userRepository.save(new User(null, "worker", "worker@example.com", "password", Role.ROLE_USER));
+    }
+
+    @Test
+    void getTasksPage_ShouldVisitEveryMatchingTaskExactlyOnce() {
+        seedTasks(95);
+
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<TaskDTO> page = taskService.getTasksPage(new TaskFilter("PENDING", null, null, "worker"), cursor, PAGE_SIZE, 0);
+            page.items().forEach(task -> assertThat(seen.add(task.title())).isTrue());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // every second task is PENDING and every third is assigned to worker
+        long expected = IntStream.range(0, 95).filter(i -> i % 2 == 0 && i % 3 == 0).count();
+        assertThat(seen).hasSize((int) expected);
+        assertThat(pages).isEqualTo((int) Math.max(1, Math.ceil(expected / (double) PAGE_SIZE)));
+    }
+
+    @Test
+    void getTasksPage_CostShouldNotGrowWithTableSize() {
+        seedTasks(200);
+        PageCost small = measureLastPage();
+
+        seedTasks(2_000);
+        PageCost large = measureLastPage();
+
+        assertThat(large.queries()).isEqualTo(small.queries());
+        assertThat(large.statements()).isEqualTo(small.statements());
+        assertThat(large.entityLoads()).isEqualTo(small.entityLoads());
+        assertThat(large.items()).isEqualTo(PAGE_SIZE);
+    }
+
+    @Test
+    void getTasksPage_ShouldRejectMalformedCursor() {
+        assertThrows(BadRequestException.class,
+                () -> taskService.getTasksPage(new TaskFilter(null, null, null, null), "not-a-cursor", PAGE_SIZE, 0));
+    }
+
+    private PageCost measureLastPage() {
+        List<Task> all = taskRepository.findAll(TaskCursor.SORT);
+        Task anchor = all.get(all.size() - PAGE_SIZE - 1);
+        String cursor = TaskCursor.encode(ScrollPosition.forward(Map.of(
+                "createdAt", anchor.getCreatedAt(), "id", anchor.getId())));
+        entityManager.clear();
+        statistics.clear();
+
+        List<TaskDTO> items = taskService.getTasksPage(new TaskFilter(null, null, null, null), cursor, PAGE_SIZE, 0).items();
+
+        return new PageCost(statistics.getQueryExecutionCount(), statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(), items.size());
+    }
+
+    private void seedTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("task-" + System.nanoTime() + "-" + i);
+            task.setStatus(i % 2 == 0 ? TaskStatus.PENDING : TaskStatus.COMPLETED);
+            task.setPriority(TaskPriority.MEDIUM);
+            task.setAuthor(admin);
+            if (i % 3 == 0) {
+                task.getAssignees().add(worker);
+            }
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private record PageCost(long queries, long statements, long entityLoads, int items) {
+    }
+}
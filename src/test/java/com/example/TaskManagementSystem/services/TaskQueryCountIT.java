@@ -0,0 +1,277 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO.Outcome;
+import com.example.TaskManagementSystem.dto.TaskSummary;
+import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.mappers.TaskMapper;
+import com.example.TaskManagementSystem.models.Comment;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.util.TaskCursor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Guards the fetch plans of the task read paths: the number of SQL statements per call
+ * must not depend on how many tasks, assignees or comments are returned.
+ */
+@SpringBootTest
+@Transactional
+class TaskQueryCountIT {
+
+    private static final int TASKS = 100;
+    private static final int USERS = 10;
+
+    private static final long MAX_LIST_STATEMENTS = 5;
+    private static final long MAX_DETAIL_STATEMENTS = 3;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private List<User> users;
+    private Long firstTaskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(new User(null, "user" + i, "user" + i + "@example.com", "password", Role.ROLE_USER)));
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("task-" + i);
+            task.setStatus(TaskStatus.PENDING);
+            task.setPriority(TaskPriority.LOW);
+            task.setAuthor(users.get(i % USERS));
+            for (int a = 1; a <= 3; a++) {
+                task.getAssignees().add(users.get((i + a) % USERS));
+            }
+            for (int c = 0; c < 3; c++) {
+                task.getComments().add(new Comment(null, "comment-" + c, task, users.get((i + c + 5) % USERS)));
+            }
+            tasks.add(task);
+        }
+        firstTaskId = taskRepository.saveAll(tasks).get(0).getId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void getTasksPage_ShouldUseConstantNumberOfStatements() {
+        List<TaskDTO> page = taskService.getTasksPage(new TaskFilter(null, null, null, null), null, TASKS, 2).items();
+
+        assertThat(page).hasSize(TASKS);
+        assertThat(page).allSatisfy(task -> {
+            assertThat(task.assignees()).hasSize(3);
+            assertThat(task.commentCount()).isEqualTo(3);
+            assertThat(task.comments()).extracting(CommentDTO::text).containsExactly("comment-2", "comment-1");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_LIST_STATEMENTS);
+    }
+
+    @Test
+    void getTasksForUser_ShouldUseConstantNumberOfStatements() {
+        List<TaskDTO> tasks = taskService.getTasksForUser(users.get(0).getId(), null, TASKS, Sort.Direction.DESC, 3).items();
+
+        assertThat(tasks).hasSize(TASKS * 4 / USERS);
+        // one extra statement for the id query in front of the entity load
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_LIST_STATEMENTS + 1);
+    }
+
+    @Test
+    void getTasksForUser_ShouldPageThroughAuthoredAndAssignedTasksInOrder() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<String> titles = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPageDTO<TaskDTO> page = taskService.getTasksForUser(users.get(0).getId(), cursor, 7, direction, 0);
+                page.items().forEach(task -> titles.add(task.title()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            // user0 authors tasks 0, 10, 20... and is assigned to tasks 7, 8, 9, 17, 18, 19...
+            List<String> expected = IntStream.range(0, TASKS)
+                    .filter(i -> i % USERS == 0 || i % USERS >= 7)
+                    .mapToObj(i -> "task-" + i)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (direction.isDescending()) {
+                Collections.reverse(expected);
+            }
+            assertThat(titles).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void getTasksForUser_ShouldReturnTaskAuthoredAndAssignedOnce() {
+        Task task = taskRepository.findById(firstTaskId).orElseThrow();
+        task.getAssignees().add(users.get(0));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<TaskDTO> page = taskService.getTasksForUser(users.get(0).getId(), cursor, 3, Sort.Direction.ASC, 0);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(3);
+            page.items().forEach(item -> titles.add(item.title()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(titles).hasSize(TASKS * 4 / USERS).doesNotHaveDuplicates().startsWith("task-0");
+    }
+
+    @Test
+    void getById_ShouldUseConstantNumberOfStatements() {
+        TaskDTO task = taskService.getById(firstTaskId);
+
+        assertThat(task.commentCount()).isEqualTo(3);
+        assertThat(task.comments()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void getAccessibleById_ShouldLoadAndAuthorizeInOneLookup() {
+        // task 0 is authored by user0 and assigned to user1..user3
+        TaskDTO task = taskService.getAccessibleById(firstTaskId, users.get(1).getId(), 3).body();
+
+        assertThat(task.assignees()).contains("user1");
+        assertThat(task.comments()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void checkTaskAccess_ShouldUseSingleStatement() {
+        taskService.checkTaskAccess(firstTaskId, users.get(0).getId());
+        taskService.checkTaskAccess(firstTaskId, users.get(3).getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThatThrownBy(() -> taskService.checkTaskAccess(firstTaskId, users.get(4).getId()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> taskService.getAccessibleById(firstTaskId, users.get(4).getId(), 0))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> taskService.checkTaskAccess(-1L, users.get(0).getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void changeStatuses_ShouldCheckAccessOnceAndReportEachItem() {
+        List<Task> tasks = taskRepository.findAll(TaskCursor.SORT);
+        // user0 authors task 0 and 10, is assigned to task 7, and has nothing to do with task 1
+        List<TaskStatusChangeDTO> changes = List.of(
+                new TaskStatusChangeDTO(tasks.get(0).getId(), "COMPLETED", null),
+                new TaskStatusChangeDTO(tasks.get(7).getId(), "in_progress", 0L),
+                new TaskStatusChangeDTO(tasks.get(10).getId(), "COMPLETED", 5L),
+                new TaskStatusChangeDTO(tasks.get(1).getId(), "COMPLETED", null),
+                new TaskStatusChangeDTO(-1L, "COMPLETED", null),
+                new TaskStatusChangeDTO(tasks.get(20).getId(), "DONE", null));
+        entityManager.clear();
+        statistics.clear();
+
+        List<TaskStatusChangeResultDTO> results = taskService.changeStatuses(changes, users.get(0).getId());
+
+        assertThat(results).extracting(TaskStatusChangeResultDTO::outcome).containsExactly(
+                Outcome.UPDATED, Outcome.UPDATED, Outcome.VERSION_CONFLICT,
+                Outcome.FORBIDDEN, Outcome.NOT_FOUND, Outcome.INVALID);
+        assertThat(results.get(1).version()).isEqualTo(1L);
+        // one JPA query for access and versions, the UPDATEs go out as a single JDBC batch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(taskRepository.findById(tasks.get(7).getId()).orElseThrow().getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(taskRepository.findById(tasks.get(1).getId()).orElseThrow().getStatus()).isEqualTo(TaskStatus.PENDING);
+    }
+
+    @Test
+    void toEntity_ShouldResolveAllAssigneesAndCommentAuthorsWithOneQueryEach() {
+        List<String> usernames = users.stream().map(User::getUsername).toList();
+        List<CommentDTO> comments = usernames.stream().map(username -> new CommentDTO("hello", username)).toList();
+
+        Task task = taskMapper.toEntity(new TaskDTO("bulk", null, "PENDING", "LOW", "user0", usernames, comments, null));
+
+        assertThat(task.getAssignees()).hasSize(USERS);
+        assertThat(task.getComments()).allSatisfy(comment -> assertThat(comment.getAuthor()).isNotNull());
+        // author, assignees and comment authors are one SELECT each, however many users are referenced
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getTaskSummaries_ShouldUseSingleStatementWithoutHydratingEntities() {
+        CursorPageDTO<TaskSummary> first = taskService.getTaskSummaries(null, TASKS / 2);
+        CursorPageDTO<TaskSummary> second = taskService.getTaskSummaries(first.nextCursor(), TASKS / 2);
+
+        assertThat(first.items()).hasSize(TASKS / 2);
+        assertThat(second.items()).hasSize(TASKS / 2);
+        assertThat(second.nextCursor()).isNull();
+        assertThat(second.items()).allSatisfy(summary -> {
+            assertThat(summary.assigneeCount()).isEqualTo(3);
+            assertThat(summary.commentCount()).isEqualTo(3);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getTaskSummariesForUser_ShouldMatchAuthoredAndAssignedTasks() {
+        Long userId = users.get(0).getId();
+        CursorPageDTO<TaskSummary> first = taskService.getTaskSummariesForUser(userId, null, TASKS / USERS);
+        CursorPageDTO<TaskSummary> second = taskService.getTaskSummariesForUser(userId, first.nextCursor(), TASKS);
+
+        // user0 authors every 10th task and is assigned to three out of every ten
+        List<TaskSummary> summaries = new ArrayList<>(first.items());
+        summaries.addAll(second.items());
+        assertThat(first.items()).hasSize(TASKS / USERS);
+        assertThat(second.nextCursor()).isNull();
+        assertThat(summaries).hasSize(TASKS * 4 / USERS);
+        assertThat(summaries).extracting(TaskSummary::id).doesNotHaveDuplicates().isSorted();
+        // ids from the UNION, then the summaries for them, per page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -1,31 +1,58 @@
 package com.example.TaskManagementSystem.services;
 
 import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO;
+import com.example.TaskManagementSystem.dto.TaskStatusChangeResultDTO.Outcome;
 import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskFilter;
+import com.example.TaskManagementSystem.dto.CursorPageDTO;
+import com.example.TaskManagementSystem.dto.Versioned;
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
 import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.exceptions.PreconditionFailedException;
 import com.example.TaskManagementSystem.mappers.CommentMapper;
 import com.example.TaskManagementSystem.mappers.TaskMapper;
 import com.example.TaskManagementSystem.models.Comment;
 import com.example.TaskManagementSystem.models.Task;
 import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskEventType;
 import com.example.TaskManagementSystem.models.enums.TaskPriority;
 import com.example.TaskManagementSystem.models.enums.TaskStatus;
 import com.example.TaskManagementSystem.repositories.CommentRepository;
+import com.example.TaskManagementSystem.repositories.TaskAccess;
 import com.example.TaskManagementSystem.repositories.TaskRepository;
-import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.repositories.TaskRepositoryCustom.SearchHit;
+import com.example.TaskManagementSystem.repositories.TaskTombstoneRepository;
+import com.example.TaskManagementSystem.util.SearchCursor;
+import com.example.TaskManagementSystem.util.TaskCursor;
+import com.example.TaskManagementSystem.util.UserFinder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,7 +60,7 @@ import static org.mockito.Mockito.when;
 class TaskServiceTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserFinder userFinder;
 
     @Mock
     private TaskRepository taskRepository;
@@ -47,6 +74,12 @@ class TaskServiceTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -54,11 +87,12 @@ class TaskServiceTest {
     void create_ShouldSaveAndReturnTaskDTO() {
         // Arrange
         TaskDTO inputDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
         Task entity = new Task();
         Task savedEntity = new Task();
+        savedEntity.setId(7L);
         TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
         when(taskMapper.toEntity(inputDTO)).thenReturn(entity);
         when(taskRepository.save(entity)).thenReturn(savedEntity);
@@ -70,28 +104,30 @@ class TaskServiceTest {
         // Assert
         assertEquals(expectedDTO, result);
         verify(taskRepository).save(entity);
+        verify(taskOutbox).append(TaskEventType.CREATED, 7L, expectedDTO);
     }
 
     @Test
-    void getAllTasks_ShouldReturnAllMappedTasks() {
+    void getTasksPage_ShouldReturnMappedTasksWithoutCursorOnLastPage() {
         // Arrange
         Task task1 = new Task();
         Task task2 = new Task();
         TaskDTO dto1 = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
         TaskDTO dto2 = new TaskDTO("testTask2", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
+        Window<Task> window = Window.from(List.of(task1, task2), index -> ScrollPosition.keyset());
 
-        when(taskRepository.findAll()).thenReturn(List.of(task1, task2));
+        when(taskRepository.<Task, Window<Task>>findBy(any(Specification.class), any())).thenReturn(window);
         when(taskMapper.toDTO(task1)).thenReturn(dto1);
         when(taskMapper.toDTO(task2)).thenReturn(dto2);
 
         // Act
-        List<TaskDTO> result = taskService.getAllTasks();
+        CursorPageDTO<TaskDTO> result = taskService.getTasksPage(new TaskFilter(null, null, null, null), null, 50, 0);
 
         // Assert
-        assertEquals(2, result.size());
-        assertTrue(result.containsAll(List.of(dto1, dto2)));
+        assertEquals(List.of(dto1, dto2), result.items());
+        assertNull(result.nextCursor());
     }
 
     @Test
@@ -100,7 +136,7 @@ class TaskServiceTest {
         Long taskId = 1L;
         Task task = new Task();
         TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
         when(taskMapper.toDTO(task)).thenReturn(expectedDTO);
@@ -127,34 +163,57 @@ class TaskServiceTest {
         // Arrange
         Long taskId = 1L;
         TaskDTO inputDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
         Task existingTask = new Task();
+        existingTask.setVersion(3L);
         Task updatedTask = new Task();
+        updatedTask.setVersion(4L);
         TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(existingTask)).thenReturn(updatedTask);
+        when(taskRepository.saveAndFlush(existingTask)).thenReturn(updatedTask);
         when(taskMapper.toDTO(updatedTask)).thenReturn(expectedDTO);
 
         // Act
-        TaskDTO result = taskService.update(taskId, inputDTO);
+        Versioned<TaskDTO> result = taskService.update(taskId, inputDTO, 3L);
 
         // Assert
-        assertEquals(expectedDTO, result);
+        assertEquals(new Versioned<>(expectedDTO, 4L), result);
         verify(taskMapper).updateTaskFromDto(inputDTO, existingTask);
     }
 
+    @Test
+    void update_ShouldRejectStaleVersion() {
+        // Arrange
+        Long taskId = 1L;
+        Task existingTask = new Task();
+        existingTask.setVersion(4L);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> taskService.update(taskId,
+                new TaskDTO("testTask1", null, "PENDING", "HIGH", "admin", null, null, null), 3L));
+        verify(taskMapper, never()).updateTaskFromDto(any(), any());
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void delete_ShouldCallRepositoryDelete() {
         // Arrange
         Long taskId = 1L;
 
+        Task task = new Task();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
         // Act
         taskService.delete(taskId);
 
         // Assert
-        verify(taskRepository).deleteById(taskId);
+        InOrder inOrder = inOrder(taskTombstoneRepository, taskRepository);
+        inOrder.verify(taskTombstoneRepository).insertForTask(eq(taskId), any(LocalDateTime.class));
+        inOrder.verify(taskRepository).delete(task);
+        verify(taskOutbox).append(TaskEventType.DELETED, taskId, null);
     }
 
     @Test
@@ -163,19 +222,82 @@ class TaskServiceTest {
         Long taskId = 1L;
         String status = "IN_PROGRESS";
         Task task = new Task();
-        TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+        task.setVersion(2L);
+        TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "IN_PROGRESS",
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
+        when(taskRepository.updateStatus(eq(taskId), eq(TaskStatus.IN_PROGRESS), eq(1L), any())).thenReturn(1);
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
         when(taskMapper.toDTO(task)).thenReturn(expectedDTO);
 
         // Act
-        TaskDTO result = taskService.changeStatus(taskId, status);
+        Versioned<TaskDTO> result = taskService.changeStatus(taskId, status, 1L);
 
         // Assert
-        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
-        assertEquals(expectedDTO, result);
+        assertEquals(new Versioned<>(expectedDTO, 2L), result);
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void changeStatus_ShouldFailPreconditionWhenVersionChanged() {
+        // Arrange
+        Long taskId = 1L;
+        when(taskRepository.updateStatus(eq(taskId), eq(TaskStatus.COMPLETED), eq(1L), any())).thenReturn(0);
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> taskService.changeStatus(taskId, "COMPLETED", 1L));
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void changeStatus_ShouldRejectUnknownStatus() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> taskService.changeStatus(1L, "DONE", null));
+        assertEquals("Invalid status value", exception.getMessage());
+        verify(taskRepository, never()).updateStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void changePriority_ShouldRejectMissingPriority() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> taskService.changePriority(1L, null, null));
+        assertEquals("Invalid priority value", exception.getMessage());
+        verify(taskRepository, never()).updatePriority(any(), any(), any(), any());
+    }
+
+    @Test
+    void changeStatusMinimal_ShouldNotLoadTask() {
+        // Arrange
+        Long taskId = 1L;
+        when(taskRepository.updateStatus(eq(taskId), eq(TaskStatus.COMPLETED), eq(4L), any())).thenReturn(1);
+
+        // Act
+        Versioned<TaskChangeDTO> result = taskService.changeStatusMinimal(taskId, "completed", 4L);
+
+        // Assert
+        assertEquals(TaskStatus.COMPLETED, result.body().status());
+        assertNull(result.body().priority());
+        assertEquals(5L, result.version());
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void changeStatuses_ShouldRejectDuplicatesAndSkipBatchWhenNothingToApply() {
+        // Arrange
+        List<TaskStatusChangeDTO> changes = List.of(
+                new TaskStatusChangeDTO(1L, "COMPLETED", null),
+                new TaskStatusChangeDTO(1L, "PENDING", null));
+        when(taskRepository.findAccessByIdIn(Set.of(1L))).thenReturn(List.of(new TaskAccess(1L, 0L, true)));
+
+        // Act
+        List<TaskStatusChangeResultDTO> results = taskService.changeStatuses(changes, null);
+
+        // Assert
+        assertEquals(List.of(TaskStatusChangeResultDTO.failed(1L, Outcome.INVALID),
+                TaskStatusChangeResultDTO.failed(1L, Outcome.INVALID)), results);
+        verify(taskRepository, never()).updateStatuses(any(), any());
     }
 
     @Test
@@ -184,19 +306,19 @@ class TaskServiceTest {
         Long taskId = 1L;
         String priority = "HIGH";
         Task task = new Task();
+        task.setVersion(1L);
         TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
+        when(taskRepository.updatePriority(eq(taskId), eq(TaskPriority.HIGH), isNull(), any())).thenReturn(1);
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
         when(taskMapper.toDTO(task)).thenReturn(expectedDTO);
 
         // Act
-        TaskDTO result = taskService.changePriority(taskId, priority);
+        Versioned<TaskDTO> result = taskService.changePriority(taskId, priority, null);
 
         // Assert
-        assertEquals(TaskPriority.HIGH, task.getPriority());
-        assertEquals(expectedDTO, result);
+        assertEquals(new Versioned<>(expectedDTO, 1L), result);
     }
 
     @Test
@@ -205,21 +327,24 @@ class TaskServiceTest {
         Long taskId = 1L;
         String username = "user";
         Task task = new Task();
-        User user = new User();
+        task.setVersion(0L);
+        User user = new User(2L, username, "user@example.com", "password", Role.ROLE_USER);
         TaskDTO expectedDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null);
+                "HIGH", "admin", Collections.singletonList("testUser"), null, null);
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(taskRepository.save(task)).thenReturn(task);
+        when(userFinder.referenceByUsername(username)).thenReturn(user);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
         when(taskMapper.toDTO(task)).thenReturn(expectedDTO);
 
         // Act
-        TaskDTO result = taskService.assignUser(taskId, username);
+        Versioned<TaskDTO> result = taskService.assignUser(taskId, username, 0L);
 
         // Assert
         assertTrue(task.getAssignees().contains(user));
-        assertEquals(expectedDTO, result);
+        assertNotNull(task.getUpdatedAt());
+        assertEquals(expectedDTO, result.body());
+        verify(taskTombstoneRepository).deleteForUsers(taskId, Set.of(2L));
     }
 
     @Test
@@ -234,8 +359,9 @@ class TaskServiceTest {
         Task task = new Task();
         User author = new User();
 
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(author));
+        when(taskRepository.touch(eq(taskId), any(LocalDateTime.class))).thenReturn(1);
+        when(taskRepository.getReferenceById(taskId)).thenReturn(task);
+        when(userFinder.referenceByUsername(username)).thenReturn(author);
         when(commentMapper.toEntity(inputDTO)).thenReturn(entity);
         when(commentRepository.save(entity)).thenReturn(savedComment);
         when(commentMapper.toDto(savedComment)).thenReturn(expectedDTO);
@@ -250,42 +376,100 @@ class TaskServiceTest {
     }
 
     @Test
-    void getTasksForUser_ShouldReturnFilteredTasks() {
+    void addComment_ShouldThrowWhenTaskDoesNotExist() {
         // Arrange
-        String username = "user";
-        User user = new User();
+        Long taskId = 1L;
+        when(taskRepository.touch(eq(taskId), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+                () -> taskService.addComment(taskId, new CommentDTO("text", "author"), "author"));
+        verify(commentRepository, never()).save(any());
+    }
+
+    @Test
+    void getTasksForUser_ShouldKeepIdOrderAndReturnCursorOfLastTask() {
+        // Arrange
+        Long userId = 7L;
         Task task1 = new Task();
+        task1.setId(1L);
+        task1.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
         Task task2 = new Task();
-        TaskDTO dto1 = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("user"), null);
-        TaskDTO dto2 = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", Collections.singletonList("user"), null);
+        task2.setId(2L);
+        task2.setCreatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        TaskDTO dto1 = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("user"), null, null);
+        TaskDTO dto2 = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", Collections.singletonList("user"), null, null);
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        when(taskRepository.findByAuthorOrAssigneesContains(user)).thenReturn(List.of(task1, task2));
+        when(taskRepository.findIdsForUser(eq(userId), any(), eq(Sort.Direction.DESC), eq(3))).thenReturn(List.of(2L, 1L, 5L));
+        when(taskRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(task1, task2));
         when(taskMapper.toDTO(task1)).thenReturn(dto1);
         when(taskMapper.toDTO(task2)).thenReturn(dto2);
 
         // Act
-        List<TaskDTO> result = taskService.getTasksForUser(username);
+        CursorPageDTO<TaskDTO> result = taskService.getTasksForUser(userId, null, 2, Sort.Direction.DESC, 0);
 
         // Assert
-        assertEquals(2, result.size());
-        assertTrue(result.containsAll(List.of(dto1, dto2)));
+        assertEquals(List.of(dto2, dto1), result.items());
+        assertEquals(TaskCursor.encode(task1.getCreatedAt(), 1L), result.nextCursor());
+    }
+
+    @Test
+    void search_ShouldKeepRankOrderAndContinueAfterLastHit() {
+        // Arrange
+        Long userId = 7L;
+        Task task1 = new Task();
+        task1.setId(1L);
+        Task task2 = new Task();
+        task2.setId(2L);
+        TaskDTO dto1 = new TaskDTO("testTask1", "123", "PENDING", "HIGH", "admin", Collections.singletonList("user"), null, null);
+        TaskDTO dto2 = new TaskDTO("testTask2", "123", "PENDING", "LOW", "admin", Collections.singletonList("user"), null, null);
+        SearchHit after = new SearchHit(9L, 0.9);
+
+        when(taskRepository.search("login bug", userId, after, 3))
+                .thenReturn(List.of(new SearchHit(2L, 0.6), new SearchHit(1L, 0.3), new SearchHit(5L, 0.1)));
+        when(taskRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(task1, task2));
+        when(taskMapper.toDTO(task1)).thenReturn(dto1);
+        when(taskMapper.toDTO(task2)).thenReturn(dto2);
+
+        // Act
+        CursorPageDTO<TaskDTO> result = taskService.search(" login bug ", userId, SearchCursor.encode(after), 2);
+
+        // Assert
+        assertEquals(List.of(dto2, dto1), result.items());
+        assertEquals(new SearchHit(1L, 0.3), SearchCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void search_ShouldRejectBlankQuery() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.search("  ", null, null, 20));
+        verify(taskRepository, never()).search(any(), any(), any(), eq(21));
     }
 
     @Test
     void checkTaskAccess_ShouldThrowWhenNoAccess() {
         // Arrange
         Long taskId = 1L;
-        String username = "user";
-        TaskDTO taskDTO = new TaskDTO("testTask1", "123", "PENDING",
-                "HIGH", "admin", Collections.singletonList("testUser"), null
-        );
-
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(new Task()));
-        when(taskMapper.toDTO(any())).thenReturn(taskDTO);
+        Long userId = 2L;
+        when(taskRepository.isAccessibleBy(taskId, userId)).thenReturn(false);
+        when(taskRepository.existsById(taskId)).thenReturn(true);
 
         // Act & Assert
         assertThrows(AccessDeniedException.class,
-                () -> taskService.checkTaskAccess(taskId, username));
+                () -> taskService.checkTaskAccess(taskId, userId));
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void getAccessibleById_ShouldThrowNotFoundWhenTaskIsMissing() {
+        // Arrange
+        Long taskId = 1L;
+        Long userId = 2L;
+        when(taskRepository.findAccessibleById(taskId, userId)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+                () -> taskService.getAccessibleById(taskId, userId, 0));
     }
 }
@@ -0,0 +1,184 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.CommentDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.TaskDeltaDTO;
+import com.example.TaskManagementSystem.dto.TaskDeltaDTO.ChangedTask;
+import com.example.TaskManagementSystem.exceptions.BadRequestException;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import com.example.TaskManagementSystem.util.UserFinder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TaskSyncIT {
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFinder userFinder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User author;
+    private User worker;
+    private User outsider;
+
+    @BeforeEach
+    void setUp() {
+        userFinder.invalidateAll();
+        author = userRepository.save(new User(null, "author", "author@example.com", "password", Role.ROLE_USER));
+        worker = userRepository.save(new User(null, "worker", "worker@example.com", "password", Role.ROLE_USER));
+        outsider = userRepository.save(new User(null, "outsider", "outsider@example.com", "password", Role.ROLE_USER));
+    }
+
+    @Test
+    void getChangesForUser_ShouldReturnOnlyTasksChangedSinceWatermark() throws InterruptedException {
+        Long statusTask = seedTask(author);
+        Long commentTask = seedTask(author);
+        Long assignTask = seedTask(author);
+        Long untouched = seedTask(author);
+        seedTask(outsider);
+
+        TaskDeltaDTO initial = taskSyncService.getChangesForUser(author.getId(), "", 50);
+        assertThat(initial.changed()).extracting(ChangedTask::id)
+                .containsExactly(statusTask, commentTask, assignTask, untouched);
+        assertThat(initial.hasMore()).isFalse();
+        assertThat(taskSyncService.getChangesForUser(author.getId(), initial.watermark(), 50).changed()).isEmpty();
+
+        awaitClockTick();
+        taskService.changeStatus(statusTask, "COMPLETED", null);
+        taskService.addComment(commentTask, new CommentDTO("done?", "author"), "author");
+        taskService.assignUser(assignTask, "worker", null);
+        entityManager.flush();
+
+        TaskDeltaDTO delta = taskSyncService.getChangesForUser(author.getId(), initial.watermark(), 50);
+
+        assertThat(delta.changed()).extracting(ChangedTask::id).containsExactly(statusTask, commentTask, assignTask);
+        assertThat(delta.changed().get(0).task().status()).isEqualTo("COMPLETED");
+        assertThat(delta.deleted()).isEmpty();
+        assertThat(taskSyncService.getChangesForUser(worker.getId(), "", 50).changed())
+                .extracting(ChangedTask::id).containsExactly(assignTask);
+    }
+
+    @Test
+    void getChangesForUser_ShouldReportDeletedTasksToAuthorAndAssignees() throws InterruptedException {
+        Long taskId = seedTask(author);
+        taskService.assignUser(taskId, "worker", null);
+        entityManager.flush();
+        String authorWatermark = taskSyncService.getChangesForUser(author.getId(), null, 50).watermark();
+        String outsiderWatermark = taskSyncService.getChangesForUser(outsider.getId(), null, 50).watermark();
+
+        awaitClockTick();
+        taskService.delete(taskId);
+        entityManager.flush();
+
+        TaskDeltaDTO authorDelta = taskSyncService.getChangesForUser(author.getId(), authorWatermark, 50);
+        assertThat(authorDelta.changed()).isEmpty();
+        assertThat(authorDelta.deleted()).containsExactly(taskId);
+        assertThat(taskSyncService.getChangesForUser(worker.getId(), null, 50).deleted()).containsExactly(taskId);
+        assertThat(taskSyncService.getChangesForUser(outsider.getId(), outsiderWatermark, 50).deleted()).isEmpty();
+        assertThat(taskSyncService.getChangesForUser(author.getId(), authorDelta.watermark(), 50).deleted()).isEmpty();
+    }
+
+    @Test
+    void getChangesForUser_ShouldReportTaskToUsersRemovedByUpdate() throws InterruptedException {
+        Long taskId = seedTask(author);
+        taskService.assignUser(taskId, "worker", null);
+        entityManager.flush();
+        String workerWatermark = taskSyncService.getChangesForUser(worker.getId(), null, 50).watermark();
+
+        awaitClockTick();
+        taskService.update(taskId, new TaskDTO("renamed", null, "PENDING", "LOW", "author", List.of(), null, null), null);
+        entityManager.flush();
+
+        TaskDeltaDTO workerDelta = taskSyncService.getChangesForUser(worker.getId(), workerWatermark, 50);
+        assertThat(workerDelta.changed()).isEmpty();
+        assertThat(workerDelta.deleted()).containsExactly(taskId);
+        assertThat(taskSyncService.getChangesForUser(author.getId(), null, 50).deleted()).isEmpty();
+
+        awaitClockTick();
+        taskService.assignUser(taskId, "worker", null);
+        entityManager.flush();
+
+        TaskDeltaDTO reassigned = taskSyncService.getChangesForUser(worker.getId(), workerDelta.watermark(), 50);
+        assertThat(reassigned.changed()).extracting(ChangedTask::id).containsExactly(taskId);
+        assertThat(reassigned.deleted()).isEmpty();
+
+        taskService.delete(taskId);
+        entityManager.flush();
+        assertThat(taskSyncService.getChangesForUser(worker.getId(), reassigned.watermark(), 50).deleted())
+                .containsExactly(taskId);
+    }
+
+    @Test
+    void getChangesForUser_ShouldPageThroughChangesWithWatermark() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(seedTask(author));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String watermark = null;
+        int pages = 0;
+        TaskDeltaDTO delta;
+        do {
+            delta = taskSyncService.getChangesForUser(author.getId(), watermark, 2);
+            delta.changed().forEach(task -> seen.add(task.id()));
+            watermark = delta.watermark();
+            pages++;
+        } while (delta.hasMore());
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+        assertThat(taskSyncService.getChangesForUser(author.getId(), watermark, 2).changed()).isEmpty();
+    }
+
+    @Test
+    void getChangesForUser_ShouldRejectInvalidWatermark() {
+        assertThrows(BadRequestException.class,
+                () -> taskSyncService.getChangesForUser(author.getId(), "not-a-watermark", 50));
+    }
+
+    private Long seedTask(User taskAuthor) {
+        Task task = new Task();
+        task.setTitle("task-" + System.nanoTime());
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setAuthor(taskAuthor);
+        return taskRepository.saveAndFlush(task).getId();
+    }
+
+    // the watermark of an exhausted feed is the read time, changes in the same clock tick would be missed
+    private static void awaitClockTick() throws InterruptedException {
+        Thread.sleep(5);
+    }
+}
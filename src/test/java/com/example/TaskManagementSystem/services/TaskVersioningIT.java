@@ -0,0 +1,128 @@
+package com.example.TaskManagementSystem.services;
+
+import com.example.TaskManagementSystem.dto.TaskChangeDTO;
+import com.example.TaskManagementSystem.dto.TaskDTO;
+import com.example.TaskManagementSystem.dto.Versioned;
+import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.exceptions.PreconditionFailedException;
+import com.example.TaskManagementSystem.models.Task;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.models.enums.TaskPriority;
+import com.example.TaskManagementSystem.models.enums.TaskStatus;
+import com.example.TaskManagementSystem.repositories.TaskRepository;
+import com.example.TaskManagementSystem.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class TaskVersioningIT {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        User admin = userRepository.save(new User(null, "admin", "admin@example.com", "password", Role.ROLE_ADMIN));
+        userRepository.save(new User(null, "worker", "worker@example.com", "password", Role.ROLE_USER));
+        Task task = new Task();
+        task.setTitle("versioned");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setAuthor(admin);
+        taskId = taskRepository.save(task).getId();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void changeStatus_ShouldUpdateWithoutLoadingTaskFirst() {
+        Versioned<TaskDTO> result = taskService.changeStatus(taskId, "COMPLETED", 0L);
+
+        assertThat(result.body().status()).isEqualTo("COMPLETED");
+        assertThat(result.version()).isEqualTo(1L);
+        // the conditional UPDATE goes through JDBC, the one JPA query loads the task with assignees
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changeStatusMinimal_ShouldBeSingleUpdateWhenVersionIsKnown() {
+        Versioned<TaskChangeDTO> result = taskService.changeStatusMinimal(taskId, "IN_PROGRESS", 0L);
+
+        assertThat(result.body().status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(result.version()).isEqualTo(1L);
+        // the JDBC UPDATE only, nothing through JPA
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // without If-Match the new version has to be read back
+        assertThat(taskService.changePriorityMinimal(taskId, "HIGH", null).version()).isEqualTo(2L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changeStatus_ShouldDetachOnlyTheUpdatedTask() {
+        Task other = new Task();
+        other.setTitle("unrelated");
+        other.setStatus(TaskStatus.PENDING);
+        other.setPriority(TaskPriority.LOW);
+        other.setAuthor(userRepository.findByUsername("worker").orElseThrow());
+        taskRepository.saveAndFlush(other);
+        Task stale = taskRepository.findById(taskId).orElseThrow();
+
+        taskService.changeStatus(taskId, "COMPLETED", 0L);
+
+        // the caller's other entities stay managed, the bypassed row is read again
+        assertThat(entityManager.contains(other)).isTrue();
+        assertThat(entityManager.contains(stale)).isFalse();
+        assertThat(taskRepository.findById(taskId).orElseThrow().getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void changePriority_ShouldRejectStaleVersionAndKeepRow() {
+        taskService.changePriority(taskId, "HIGH", null);
+
+        assertThatThrownBy(() -> taskService.changePriority(taskId, "MEDIUM", 0L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> taskService.changePriority(-1L, "MEDIUM", 0L))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(taskRepository.findById(taskId).orElseThrow())
+                .extracting(Task::getPriority, Task::getVersion)
+                .containsExactly(TaskPriority.HIGH, 1L);
+    }
+
+    @Test
+    void assignUser_ShouldBumpVersionAndCheckIfMatch() {
+        Versioned<TaskDTO> assigned = taskService.assignUser(taskId, "worker", 0L);
+
+        assertThat(assigned.body().assignees()).containsExactly("worker");
+        assertThat(assigned.version()).isEqualTo(1L);
+        assertThatThrownBy(() -> taskService.update(taskId,
+                new TaskDTO("renamed", null, "PENDING", "LOW", "admin", null, null, null), 0L))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.TaskManagementSystem.util;
+
+import com.example.TaskManagementSystem.exceptions.EntityNotFoundException;
+import com.example.TaskManagementSystem.models.User;
+import com.example.TaskManagementSystem.models.enums.Role;
+import com.example.TaskManagementSystem.services.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserFinderTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private UserFinder userFinder;
+
+    @BeforeEach
+    void setUp() {
+        userFinder = new UserFinder(userService, entityManager, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void findAllByUsername_ShouldResolveAllUsersWithOneLookup() {
+        // Arrange
+        User alice = new User(1L, "alice", "alice@example.com", "hash", Role.ROLE_USER);
+        User bob = new User(2L, "bob", "bob@example.com", "hash", Role.ROLE_USER);
+        when(userService.findAllByUsername(List.of("alice", "bob"))).thenReturn(List.of(alice, bob));
+
+        // Act
+        Map<String, User> result = userFinder.findAllByUsername(List.of("alice", "bob", "alice"));
+
+        // Assert
+        assertEquals(Map.of("alice", alice, "bob", bob), result);
+        verify(userService, times(1)).findAllByUsername(any());
+        verify(userService, never()).findByUsername(any());
+    }
+
+    @Test
+    void findAllByUsername_ShouldReportEveryMissingUsername() {
+        // Arrange
+        User alice = new User(1L, "alice", "alice@example.com", "hash", Role.ROLE_USER);
+        when(userService.findAllByUsername(List.of("ghost", "alice", "phantom"))).thenReturn(List.of(alice));
+
+        // Act & Assert
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> userFinder.findAllByUsername(List.of("ghost", "alice", "phantom")));
+        assertEquals("Users not found: ghost, phantom", exception.getMessage());
+    }
+
+    @Test
+    void findAllByUsername_ShouldSkipQueryForEmptyInput() {
+        // Act
+        Map<String, User> result = userFinder.findAllByUsername(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void referencesByUsername_ShouldQueryOnlyUnknownUsernames() {
+        // Arrange
+        User alice = new User(1L, "alice", "alice@example.com", "hash", Role.ROLE_USER);
+        User bob = new User(2L, "bob", "bob@example.com", "hash", Role.ROLE_USER);
+        when(userService.findIdsByUsername(List.of("alice"))).thenReturn(Map.of("alice", 1L));
+        when(userService.findIdsByUsername(List.of("bob"))).thenReturn(Map.of("bob", 2L));
+        when(entityManager.getReference(User.class, 1L)).thenReturn(alice);
+        when(entityManager.getReference(User.class, 2L)).thenReturn(bob);
+
+        // Act
+        userFinder.referenceByUsername("alice");
+        Map<String, User> result = userFinder.referencesByUsername(List.of("alice", "bob"));
+
+        // Assert
+        assertEquals(Map.of("alice", alice, "bob", bob), result);
+        verify(userService, times(2)).findIdsByUsername(any());
+        verify(userService, never()).findAllByUsername(any());
+    }
+
+    @Test
+    void referenceByUsername_ShouldThrowForUnknownUsername() {
+        // Arrange
+        when(userService.findIdsByUsername(List.of("ghost"))).thenReturn(Map.of());
+
+        // Act & Assert
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> userFinder.referenceByUsername("ghost"));
+        assertEquals("User not found: ghost", exception.getMessage());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void invalidate_ShouldForgetResolvedId() {
+        // Arrange
+        when(userService.findIdsByUsername(List.of("alice"))).thenReturn(Map.of("alice", 1L));
+
+        // Act
+        userFinder.referenceByUsername("alice");
+        userFinder.invalidate("alice");
+        userFinder.referenceByUsername("alice");
+
+        // Assert
+        verify(userService, times(2)).findIdsByUsername(List.of("alice"));
+    }
+}